@@ -5,21 +5,29 @@ import BytecodeParser.IField;
 import BytecodeParser.IMethod;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.FieldNode;
-import org.objectweb.asm.tree.MethodNode;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * ASM-backed implementation of IClass.
+ * Member views are built once, on first use, and shared by every caller;
+ * the returned lists are unmodifiable so the model can be shared across
+ * threads.
  */
 public final class ASMClass implements IClass {
 
     private final ClassNode node;
+    private final int[] methodIds;   // name and descriptor id of each method, in pairs
+
+    private volatile List<IMethod> methods;
+    private volatile List<IField> fields;
+    private volatile List<String> interfaces;
 
     ASMClass(ClassNode node) {
         this.node = node;
+        this.methodIds = ASMMethod.symbolIds(node.methods);
     }
 
     @Override
@@ -29,21 +37,52 @@ public final class ASMClass implements IClass {
 
     @Override
     public List<IMethod> getMethods() {
-        return node.methods.stream()
-                .map(m -> new ASMMethod((MethodNode) m))
-                .collect(Collectors.toList());
+        List<IMethod> result = methods;
+        if (result == null) {
+            synchronized (this) {
+                result = methods;
+                if (result == null) {
+                    List<IMethod> list = new ArrayList<>(node.methods.size());
+                    for (int i = 0; i < node.methods.size(); i++) {
+                        list.add(new ASMMethod(node.name, node.methods.get(i), methodIds[2 * i], methodIds[2 * i + 1]));
+                    }
+                    methods = result = Collections.unmodifiableList(list);
+                }
+            }
+        }
+        return result;
     }
 
     @Override
     public List<IField> getFields() {
-        return node.fields.stream()
-                .map(f -> new ASMField((FieldNode) f))
-                .collect(Collectors.toList());
+        List<IField> result = fields;
+        if (result == null) {
+            synchronized (this) {
+                result = fields;
+                if (result == null) {
+                    List<IField> list = new ArrayList<>(node.fields.size());
+                    for (FieldNode f : node.fields) {
+                        list.add(new ASMField(f));
+                    }
+                    fields = result = Collections.unmodifiableList(list);
+                }
+            }
+        }
+        return result;
     }
 
     @Override
     public List<String> getDirectInterfaces() {
-        return new ArrayList<>(node.interfaces);
+        List<String> result = interfaces;
+        if (result == null) {
+            synchronized (this) {
+                result = interfaces;
+                if (result == null) {
+                    interfaces = result = Collections.unmodifiableList(new ArrayList<>(node.interfaces));
+                }
+            }
+        }
+        return result;
     }
 
     @Override
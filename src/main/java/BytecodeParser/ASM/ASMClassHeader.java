@@ -0,0 +1,37 @@
+package BytecodeParser.ASM;
+
+import BytecodeParser.IClassHeader;
+
+import java.util.List;
+
+/**
+ * Class header read directly from a ClassReader, without building a
+ * ClassNode.
+ */
+final class ASMClassHeader implements IClassHeader {
+
+    private final String className;
+    private final String superClassName;
+    private final List<String> interfaces;
+
+    ASMClassHeader(String className, String superClassName, String[] interfaces) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaces = List.of(interfaces);
+    }
+
+    @Override
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    @Override
+    public List<String> getDirectInterfaces() {
+        return interfaces;
+    }
+}
@@ -0,0 +1,69 @@
+package BytecodeParser.ASM;
+
+import BytecodeParser.IClassListener;
+import BytecodeParser.SymbolTable;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.List;
+
+/**
+ * Translates ClassReader events into IClassListener events.
+ * Only one method body is held in memory at a time; no ClassNode is built.
+ */
+final class ASMClassScanner extends ClassVisitor {
+
+    private final IClassListener listener;
+    private String className;
+
+    ASMClassScanner(IClassListener listener) {
+        super(Opcodes.ASM9);
+        this.listener = listener;
+    }
+
+    @Override
+    public void visit(int version, int access, String name, String signature,
+                      String superName, String[] interfaces) {
+        className = name;
+        listener.visitClass(name, superName, interfaces == null ? List.of() : List.of(interfaces));
+    }
+
+    @Override
+    public FieldVisitor visitField(int access, String name, String descriptor,
+                                   String signature, Object value) {
+        listener.visitField(new ASMField(access, name));
+        return null;
+    }
+
+    @Override
+    public MethodVisitor visitMethod(int access, String name, String descriptor,
+                                     String signature, String[] exceptions) {
+        return new MethodRecorder(access, name, descriptor, signature, exceptions);
+    }
+
+    @Override
+    public void visitEnd() {
+        listener.visitEnd();
+    }
+
+    /**
+     * Buffers a single method and hands it to the listener once its code
+     * has been fully read.
+     */
+    private final class MethodRecorder extends MethodNode {
+
+        MethodRecorder(int access, String name, String descriptor,
+                       String signature, String[] exceptions) {
+            super(Opcodes.ASM9, access, name, descriptor, signature, exceptions);
+        }
+
+        @Override
+        public void visitEnd() {
+            SymbolTable symbols = SymbolTable.global();
+            listener.visitMethod(new ASMMethod(className, this, symbols.intern(name), symbols.intern(desc)));
+        }
+    }
+}
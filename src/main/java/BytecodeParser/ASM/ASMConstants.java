@@ -0,0 +1,107 @@
+package BytecodeParser.ASM;
+
+import BytecodeParser.ConstantTable;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+
+/**
+ * Decodes numeric constant pushes straight from ASM instruction nodes.
+ */
+final class ASMConstants {
+
+    private ASMConstants() {
+    }
+
+    /**
+     * @return the ConstantTable kind pushed by the instruction, or
+     *         ConstantTable.NONE.
+     */
+    static int kind(AbstractInsnNode insn) {
+        switch (insn.getOpcode()) {
+            case Opcodes.ICONST_M1:
+            case Opcodes.ICONST_0:
+            case Opcodes.ICONST_1:
+            case Opcodes.ICONST_2:
+            case Opcodes.ICONST_3:
+            case Opcodes.ICONST_4:
+            case Opcodes.ICONST_5:
+            case Opcodes.BIPUSH:
+            case Opcodes.SIPUSH:
+                return ConstantTable.INT;
+            case Opcodes.LCONST_0:
+            case Opcodes.LCONST_1:
+                return ConstantTable.LONG;
+            case Opcodes.FCONST_0:
+            case Opcodes.FCONST_1:
+            case Opcodes.FCONST_2:
+                return ConstantTable.FLOAT;
+            case Opcodes.DCONST_0:
+            case Opcodes.DCONST_1:
+                return ConstantTable.DOUBLE;
+            case Opcodes.LDC: {
+                Object cst = ((LdcInsnNode) insn).cst;
+                if (cst instanceof Integer) return ConstantTable.INT;
+                if (cst instanceof Long) return ConstantTable.LONG;
+                if (cst instanceof Float) return ConstantTable.FLOAT;
+                if (cst instanceof Double) return ConstantTable.DOUBLE;
+                return -1;
+            }
+            default:
+                return -1;
+        }
+    }
+
+    static long bits(AbstractInsnNode insn) {
+        int opcode = insn.getOpcode();
+        switch (opcode) {
+            case Opcodes.BIPUSH:
+            case Opcodes.SIPUSH:
+                return ((IntInsnNode) insn).operand;
+            case Opcodes.LDC: {
+                Object cst = ((LdcInsnNode) insn).cst;
+                if (cst instanceof Integer || cst instanceof Long) {
+                    return ((Number) cst).longValue();
+                }
+                return Double.doubleToRawLongBits(((Number) cst).doubleValue());
+            }
+            case Opcodes.LCONST_0:
+            case Opcodes.LCONST_1:
+                return opcode - Opcodes.LCONST_0;
+            case Opcodes.FCONST_0:
+            case Opcodes.FCONST_1:
+            case Opcodes.FCONST_2:
+                return Double.doubleToRawLongBits(opcode - Opcodes.FCONST_0);
+            case Opcodes.DCONST_0:
+            case Opcodes.DCONST_1:
+                return Double.doubleToRawLongBits(opcode - Opcodes.DCONST_0);
+            default: // ICONST_M1 .. ICONST_5
+                return opcode - Opcodes.ICONST_0;
+        }
+    }
+
+    /**
+     * Boxes the constant pushed by the instruction with its original type,
+     * or returns null if it does not push a number.
+     */
+    static Number value(AbstractInsnNode insn) {
+        int kind = kind(insn);
+        if (kind == ConstantTable.NONE) {
+            return null;
+        }
+        if (insn instanceof LdcInsnNode) {
+            return (Number) ((LdcInsnNode) insn).cst;
+        }
+        return box(kind, bits(insn));
+    }
+
+    static Number box(int kind, long bits) {
+        switch (kind) {
+            case ConstantTable.INT:    return (int) bits;
+            case ConstantTable.LONG:   return bits;
+            case ConstantTable.FLOAT:  return (float) Double.longBitsToDouble(bits);
+            default:                   return Double.longBitsToDouble(bits);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package BytecodeParser.ASM;
+
+import BytecodeParser.IDataflow;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.BasicInterpreter;
+import org.objectweb.asm.tree.analysis.BasicValue;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.SourceInterpreter;
+import org.objectweb.asm.tree.analysis.SourceValue;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * IDataflow backed by two asm-analysis passes over a MethodNode: a
+ * basic-value pass that keeps reference types, and a source pass for
+ * stack producers and local-variable def-use chains. Both run once, when
+ * the object is created; queries only read the resulting frames.
+ *
+ * Public so that models keeping their own instruction arrays (see
+ * CompactMethod) can analyze a MethodNode rebuilt from the class bytes.
+ */
+public final class ASMDataflow implements IDataflow {
+
+    private static final int[] NONE = new int[0];
+
+    /** Stands for the value a local holds on method entry. Never part of an instruction list. */
+    private static final LabelNode ENTRY = new LabelNode();
+
+    private final AbstractInsnNode[] nodes;
+    private final Map<AbstractInsnNode, Integer> indices;
+    private final Frame<BasicValue>[] types;
+    private final Frame<SourceValue>[] sources;
+    private final int[][] reachingDefinitions;
+    private final int[][] uses;
+
+    /**
+     * Analyzes a method of the class with internal name owner.
+     * @throws IllegalStateException if the method's code does not verify
+     */
+    public static IDataflow analyze(String owner, MethodNode method) {
+        try {
+            return new ASMDataflow(owner, method);
+        } catch (AnalyzerException e) {
+            throw new IllegalStateException("Cannot analyze " + owner + "." + method.name + method.desc, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ASMDataflow(String owner, MethodNode method) throws AnalyzerException {
+        nodes = method.instructions.toArray();
+        int size = nodes.length;
+        indices = new IdentityHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            indices.put(nodes[i], i);
+        }
+
+        if (size == 0) {
+            // Declaration only (abstract, native, or parsed without code).
+            types = new Frame[0];
+            sources = new Frame[0];
+        } else {
+            types = new Analyzer<>(new TypeInterpreter()).analyze(owner, method);
+            sources = new Analyzer<>(new DefinitionInterpreter()).analyze(owner, method);
+        }
+
+        reachingDefinitions = new int[size][];
+        int[] useCounts = new int[size];
+        for (int i = 0; i < size; i++) {
+            int local = readsLocal(nodes[i]) ? ASMMethod.varIndex(nodes[i]) : -1;
+            if (local < 0 || sources[i] == null) {
+                reachingDefinitions[i] = NONE;
+                continue;
+            }
+            int[] definitions = toIndices(sources[i].getLocal(local).insns);
+            reachingDefinitions[i] = definitions;
+            for (int definition : definitions) {
+                if (definition >= 0) {
+                    useCounts[definition]++;
+                }
+            }
+        }
+
+        uses = new int[size][];
+        for (int i = 0; i < size; i++) {
+            uses[i] = useCounts[i] == 0 ? NONE : new int[useCounts[i]];
+            useCounts[i] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            for (int definition : reachingDefinitions[i]) {
+                if (definition >= 0) {
+                    uses[definition][useCounts[definition]++] = i;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isReachable(int instructionIndex) {
+        return types[instructionIndex] != null;
+    }
+
+    @Override
+    public int getStackSize(int instructionIndex) {
+        Frame<BasicValue> frame = types[instructionIndex];
+        return frame == null ? 0 : frame.getStackSize();
+    }
+
+    @Override
+    public String getStackType(int instructionIndex, int depth) {
+        Frame<BasicValue> frame = types[instructionIndex];
+        return frame == null ? null : descriptor(frame.getStack(frame.getStackSize() - 1 - depth));
+    }
+
+    @Override
+    public String getLocalType(int instructionIndex, int local) {
+        Frame<BasicValue> frame = types[instructionIndex];
+        return frame == null ? null : descriptor(frame.getLocal(local));
+    }
+
+    @Override
+    public String getReceiverType(int instructionIndex) {
+        AbstractInsnNode insn = nodes[instructionIndex];
+        int opcode = insn.getOpcode();
+        if (insn instanceof MethodInsnNode && opcode != Opcodes.INVOKESTATIC) {
+            return getStackType(instructionIndex, Type.getArgumentTypes(((MethodInsnNode) insn).desc).length);
+        }
+        if (insn instanceof FieldInsnNode && opcode == Opcodes.GETFIELD) {
+            return getStackType(instructionIndex, 0);
+        }
+        if (insn instanceof FieldInsnNode && opcode == Opcodes.PUTFIELD) {
+            return getStackType(instructionIndex, 1);
+        }
+        return null;
+    }
+
+    @Override
+    public int[] getStackSources(int instructionIndex, int depth) {
+        Frame<SourceValue> frame = sources[instructionIndex];
+        return frame == null ? NONE : toIndices(frame.getStack(frame.getStackSize() - 1 - depth).insns);
+    }
+
+    @Override
+    public int[] getReachingDefinitions(int instructionIndex) {
+        return reachingDefinitions[instructionIndex];
+    }
+
+    @Override
+    public int[] getUses(int instructionIndex) {
+        return uses[instructionIndex];
+    }
+
+    /**
+     * @return the instruction indices in ascending order, ENTRY as -1
+     */
+    private int[] toIndices(Set<AbstractInsnNode> insns) {
+        int[] result = new int[insns.size()];
+        int count = 0;
+        for (AbstractInsnNode insn : insns) {
+            result[count++] = insn == ENTRY ? -1 : indices.get(insn);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static boolean readsLocal(AbstractInsnNode insn) {
+        int opcode = insn.getOpcode();
+        return (opcode >= Opcodes.ILOAD && opcode <= Opcodes.ALOAD)
+                || opcode == Opcodes.IINC
+                || opcode == Opcodes.RET;
+    }
+
+    private static String descriptor(BasicValue value) {
+        return value == null || value.getType() == null ? null : value.getType().getDescriptor();
+    }
+
+    /**
+     * BasicInterpreter that keeps the declared type of references instead
+     * of collapsing them all to Object. Disagreeing references merge to
+     * Object; the null constant merges into the other side.
+     */
+    private static final class TypeInterpreter extends BasicInterpreter {
+
+        TypeInterpreter() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public BasicValue newValue(Type type) {
+            if (type != null && (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY)) {
+                return new BasicValue(type);
+            }
+            return super.newValue(type);
+        }
+
+        @Override
+        public BasicValue merge(BasicValue value1, BasicValue value2) {
+            if (value1.equals(value2)) {
+                return value1;
+            }
+            if (value1.isReference() && value2.isReference()) {
+                if (NULL_TYPE.equals(value1.getType())) {
+                    return value2;
+                }
+                if (NULL_TYPE.equals(value2.getType())) {
+                    return value1;
+                }
+                return BasicValue.REFERENCE_VALUE;
+            }
+            return BasicValue.UNINITIALIZED_VALUE;
+        }
+    }
+
+    /**
+     * SourceInterpreter that marks entry values of this and the
+     * parameters with ENTRY, so def-use chains can tell them apart from
+     * never-assigned locals after merges.
+     */
+    private static final class DefinitionInterpreter extends SourceInterpreter {
+
+        DefinitionInterpreter() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public SourceValue newParameterValue(boolean isInstanceMethod, int local, Type type) {
+            return new SourceValue(type.getSize(), ENTRY);
+        }
+    }
+}
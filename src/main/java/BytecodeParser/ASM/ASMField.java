@@ -1,37 +1,52 @@
 package BytecodeParser.ASM;
 
 import BytecodeParser.IField;
+import BytecodeParser.SymbolTable;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.FieldNode;
 
 /**
- * ASM-backed implementation of IField.
+ * ASM-backed implementation of IField. The name is kept as its canonical
+ * SymbolTable string.
  */
 final class ASMField implements IField {
 
-    private final FieldNode node;
+    private final int access;
+    private final int nameId;
+    private final String name;
 
     ASMField(FieldNode node) {
-        this.node = node;
+        this(node.access, node.name);
+    }
+
+    ASMField(int access, String name) {
+        this.access = access;
+        this.nameId = SymbolTable.global().intern(name);
+        this.name = SymbolTable.global().name(nameId);
     }
 
     @Override
     public String getName() {
-        return node.name;
+        return name;
+    }
+
+    @Override
+    public int getNameId() {
+        return nameId;
     }
 
     @Override
     public boolean isStatic() {
-        return (node.access & Opcodes.ACC_STATIC) != 0;
+        return (access & Opcodes.ACC_STATIC) != 0;
     }
 
     @Override
     public boolean isFinal() {
-        return (node.access & Opcodes.ACC_FINAL) != 0;
+        return (access & Opcodes.ACC_FINAL) != 0;
     }
 
     @Override
     public boolean isPublic() {
-        return (node.access & Opcodes.ACC_PUBLIC) != 0;
+        return (access & Opcodes.ACC_PUBLIC) != 0;
     }
 }
@@ -1,16 +1,22 @@
 package BytecodeParser.ASM;
 
+import BytecodeParser.ConstantTable;
 import BytecodeParser.IInstruction;
 import BytecodeParser.ILabel;
-import org.objectweb.asm.Opcodes;
+import BytecodeParser.InvokeDynamicInfo;
 import org.objectweb.asm.tree.*;
 
 final class ASMInstruction implements IInstruction {
 
     private final AbstractInsnNode insn;
+    private final int index;
+    private final ASMMethod method;
+    private volatile InvokeDynamicInfo invokeDynamic;
 
-    ASMInstruction(AbstractInsnNode insn) {
+    ASMInstruction(AbstractInsnNode insn, int index, ASMMethod method) {
         this.insn = insn;
+        this.index = index;
+        this.method = method;
     }
 
     @Override
@@ -21,83 +27,64 @@ final class ASMInstruction implements IInstruction {
     @Override
     public ILabel getJumpLabel() {
         if (insn instanceof JumpInsnNode) {
-            LabelNode target = ((JumpInsnNode) insn).label;
-            return target != null ? new ASMLabel(target) : null;
+            int target = getJumpTargetIndex();
+            return target >= 0 ? method.getLabelAt(target) : null;
         }
         if (insn instanceof LabelNode) {
-            return new ASMLabel((LabelNode) insn);
+            return method.getLabelAt(index);
         }
         return null;
     }
 
     @Override
-    public boolean isPushConstant() {
-        if (insn instanceof LdcInsnNode) return true;
+    public int getJumpTargetIndex() {
+        return method.getJumpTargetArray()[index];
+    }
 
-        int opcode = insn.getOpcode();
-        switch (opcode) {
-            case Opcodes.ICONST_M1:
-            case Opcodes.ICONST_0:
-            case Opcodes.ICONST_1:
-            case Opcodes.ICONST_2:
-            case Opcodes.ICONST_3:
-            case Opcodes.ICONST_4:
-            case Opcodes.ICONST_5:
-            case Opcodes.LCONST_0:
-            case Opcodes.LCONST_1:
-            case Opcodes.FCONST_0:
-            case Opcodes.FCONST_1:
-            case Opcodes.FCONST_2:
-            case Opcodes.DCONST_0:
-            case Opcodes.DCONST_1:
-            case Opcodes.BIPUSH:
-            case Opcodes.SIPUSH:
-                return true;
-            default:
-                return false;
-        }
+    @Override
+    public boolean isPushConstant() {
+        return insn instanceof LdcInsnNode || ASMConstants.kind(insn) != ConstantTable.NONE;
     }
 
     @Override
     public Number getConstantValue() {
-        if (!isPushConstant()) return null;
+        return ASMConstants.value(insn);
+    }
 
-        if (insn instanceof LdcInsnNode) {
-            Object cst = ((LdcInsnNode) insn).cst;
-            if (cst instanceof Number) return (Number) cst;
+    @Override
+    public Integer getVarIndex() {
+        if (insn instanceof VarInsnNode) {
+            return ((VarInsnNode) insn).var;
         }
+        return null;
+    }
 
-        switch (insn.getOpcode()) {
-            case Opcodes.ICONST_M1: return -1;
-            case Opcodes.ICONST_0:  return 0;
-            case Opcodes.ICONST_1:  return 1;
-            case Opcodes.ICONST_2:  return 2;
-            case Opcodes.ICONST_3:  return 3;
-            case Opcodes.ICONST_4:  return 4;
-            case Opcodes.ICONST_5:  return 5;
-
-            case Opcodes.LCONST_0:  return 0L;
-            case Opcodes.LCONST_1:  return 1L;
-
-            case Opcodes.FCONST_0:  return 0f;
-            case Opcodes.FCONST_1:  return 1f;
-            case Opcodes.FCONST_2:  return 2f;
+    @Override
+    public String getOwner() {
+        return ASMOperands.canonical(ASMOperands.owner(insn));
+    }
 
-            case Opcodes.DCONST_0:  return 0d;
-            case Opcodes.DCONST_1:  return 1d;
+    @Override
+    public String getMemberName() {
+        return ASMOperands.canonical(ASMOperands.memberName(insn));
+    }
 
-            case Opcodes.BIPUSH:    return ((IntInsnNode) insn).operand;
-            case Opcodes.SIPUSH:    return ((IntInsnNode) insn).operand;
+    @Override
+    public String getMemberDescriptor() {
+        return ASMOperands.canonical(ASMOperands.memberDescriptor(insn));
+    }
 
-            default: return null;
-        }
+    @Override
+    public String getTypeOperand() {
+        return ASMOperands.canonical(ASMOperands.type(insn));
     }
 
     @Override
-    public Integer getVarIndex() {
-        if (insn instanceof VarInsnNode) {
-            return ((VarInsnNode) insn).var;
+    public InvokeDynamicInfo getInvokeDynamic() {
+        InvokeDynamicInfo result = invokeDynamic;
+        if (result == null && insn instanceof InvokeDynamicInsnNode) {
+            invokeDynamic = result = ASMOperands.invokeDynamic(insn);
         }
-        return null;
+        return result;
     }
 }
@@ -0,0 +1,105 @@
+package BytecodeParser.ASM;
+
+import BytecodeParser.ConstantTable;
+import BytecodeParser.IInstructionCursor;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+
+/**
+ * Walks the InsnList of a method directly. The opcode switch for constant
+ * pushes is decoded once per position and the value kept as primitive bits.
+ */
+final class ASMInstructionCursor implements IInstructionCursor {
+
+    private final ASMMethod method;
+    private final InsnList instructions;
+
+    private AbstractInsnNode current;
+    private int index = -1;
+    private int constantKind = ConstantTable.NONE;
+    private long constantBits;
+
+    ASMInstructionCursor(ASMMethod method, InsnList instructions) {
+        this.method = method;
+        this.instructions = instructions;
+    }
+
+    @Override
+    public boolean next() {
+        AbstractInsnNode nextInsn;
+        if (index < 0) {
+            nextInsn = instructions.getFirst();
+        } else {
+            nextInsn = current == null ? null : current.getNext();
+        }
+        current = nextInsn;
+        if (nextInsn == null) {
+            constantKind = ConstantTable.NONE;
+            return false;
+        }
+
+        index++;
+        constantKind = ASMConstants.kind(nextInsn);
+        constantBits = constantKind == ConstantTable.NONE ? 0 : ASMConstants.bits(nextInsn);
+        return true;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public int getOpcode() {
+        return current.getOpcode();
+    }
+
+    @Override
+    public int getVarIndex() {
+        return ASMMethod.varIndex(current);
+    }
+
+    @Override
+    public int getJumpTargetIndex() {
+        return method.getJumpTargetArray()[index];
+    }
+
+    @Override
+    public int getConstantKind() {
+        return constantKind;
+    }
+
+    @Override
+    public long getLongValue() {
+        return isIntegral() ? constantBits : (long) Double.longBitsToDouble(constantBits);
+    }
+
+    @Override
+    public double getDoubleValue() {
+        return isIntegral() ? constantBits : Double.longBitsToDouble(constantBits);
+    }
+
+    @Override
+    public int getOwnerId() {
+        return ASMOperands.id(ASMOperands.owner(current));
+    }
+
+    @Override
+    public int getMemberNameId() {
+        return ASMOperands.id(ASMOperands.memberName(current));
+    }
+
+    @Override
+    public int getMemberDescriptorId() {
+        return ASMOperands.id(ASMOperands.memberDescriptor(current));
+    }
+
+    @Override
+    public int getTypeId() {
+        return ASMOperands.id(ASMOperands.type(current));
+    }
+
+    private boolean isIntegral() {
+        return constantKind == ConstantTable.INT || constantKind == ConstantTable.LONG;
+    }
+}
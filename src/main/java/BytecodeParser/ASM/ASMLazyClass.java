@@ -0,0 +1,133 @@
+package BytecodeParser.ASM;
+
+import BytecodeParser.IClass;
+import BytecodeParser.IField;
+import BytecodeParser.IMethod;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * IClass that keeps the raw class bytes and decodes each method body only
+ * when a check first asks for its instructions or local variables.
+ *
+ * The class is read once with SKIP_CODE for the header and declarations.
+ * A body is decoded by a second pass of the same ClassReader in which only
+ * the wanted method gets a visitor; ClassReader skips every other method
+ * by its attribute lengths without decoding it, and no MethodNode is built
+ * for methods whose code no check looks at.
+ */
+final class ASMLazyClass implements IClass {
+
+    private final ClassReader reader;
+    private final ClassNode declarations;
+    private final int bodyFlags;
+    private final int[] methodIds;   // name and descriptor id of each method, in pairs
+
+    private volatile List<IMethod> methods;
+    private volatile List<IField> fields;
+    private volatile List<String> interfaces;
+
+    /**
+     * @param reader    the class bytes; must not change while this class is in use
+     * @param bodyFlags ClassReader flags used when a method body is decoded
+     */
+    ASMLazyClass(ClassReader reader, int bodyFlags) {
+        this.reader = reader;
+        this.bodyFlags = bodyFlags & ~ClassReader.SKIP_CODE;
+        this.declarations = new ClassNode();
+        reader.accept(declarations, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        this.methodIds = ASMMethod.symbolIds(declarations.methods);
+    }
+
+    @Override
+    public String getClassName() {
+        return declarations.name;
+    }
+
+    @Override
+    public List<IMethod> getMethods() {
+        List<IMethod> result = methods;
+        if (result == null) {
+            synchronized (this) {
+                result = methods;
+                if (result == null) {
+                    List<IMethod> list = new ArrayList<>(declarations.methods.size());
+                    for (int i = 0; i < declarations.methods.size(); i++) {
+                        int methodIndex = i;
+                        list.add(new ASMMethod(declarations.name, declarations.methods.get(i),
+                                methodIds[2 * i], methodIds[2 * i + 1], () -> decodeMethod(methodIndex)));
+                    }
+                    methods = result = Collections.unmodifiableList(list);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<IField> getFields() {
+        List<IField> result = fields;
+        if (result == null) {
+            synchronized (this) {
+                result = fields;
+                if (result == null) {
+                    List<IField> list = new ArrayList<>(declarations.fields.size());
+                    for (FieldNode f : declarations.fields) {
+                        list.add(new ASMField(f));
+                    }
+                    fields = result = Collections.unmodifiableList(list);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> getDirectInterfaces() {
+        List<String> result = interfaces;
+        if (result == null) {
+            synchronized (this) {
+                result = interfaces;
+                if (result == null) {
+                    interfaces = result = Collections.unmodifiableList(new ArrayList<>(declarations.interfaces));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String getSuperClassName() {
+        return declarations.superName;
+    }
+
+    /**
+     * Decodes the body of the methodIndex-th method, in class-file order.
+     */
+    private MethodNode decodeMethod(int methodIndex) {
+        MethodNode declaration = declarations.methods.get(methodIndex);
+        MethodNode body = new MethodNode(Opcodes.ASM9, declaration.access, declaration.name,
+                declaration.desc, declaration.signature, null);
+
+        reader.accept(new ClassVisitor(Opcodes.ASM9) {
+            private int next;
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor,
+                                             String signature, String[] exceptions) {
+                return next++ == methodIndex ? body : null;
+            }
+        }, bodyFlags);
+
+        return body;
+    }
+}
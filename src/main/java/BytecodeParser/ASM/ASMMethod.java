@@ -1,27 +1,103 @@
 package BytecodeParser.ASM;
 
+import BytecodeParser.ConstantTable;
+import BytecodeParser.ControlFlowGraph;
+import BytecodeParser.IDataflow;
 import BytecodeParser.IInstruction;
+import BytecodeParser.IInstructionCursor;
 import BytecodeParser.ILocalVariable;
 import BytecodeParser.IMethod;
+import BytecodeParser.SymbolTable;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.IincInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LocalVariableNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
 import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.VarInsnNode;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * ASM-backed implementation of IMethod.
+ * Instruction, opcode and local-variable views are built once, on first
+ * use, and returned as unmodifiable lists. The primitive arrays, the
+ * label table and the resolved jump targets are decoded together the
+ * first time any of them is needed.
+ *
+ * A method may also be created from its declaration alone, with a loader
+ * for its body; the body is then decoded the first time code or local
+ * variables are asked for.
  */
 final class ASMMethod implements IMethod {
 
+    private final String owner;
     private final MethodNode node;
+    private final Supplier<MethodNode> bodyLoader;
 
-    ASMMethod(MethodNode node) {
+    // SymbolTable ids, resolved when the model is built.
+    private final int nameId;
+    private final int descriptorId;
+
+    private volatile MethodNode body;
+    private volatile List<IInstruction> instructions;
+    private volatile List<Integer> opcodes;
+    private volatile List<ILocalVariable> localVariables;
+    private volatile Code code;
+    private volatile ControlFlowGraph controlFlowGraph;
+    private volatile IDataflow dataflow;
+
+    /**
+     * @param nameId       SymbolTable id of the method's name
+     * @param descriptorId SymbolTable id of the method's descriptor
+     */
+    ASMMethod(String owner, MethodNode node, int nameId, int descriptorId) {
+        this.owner = owner;
         this.node = node;
+        this.nameId = nameId;
+        this.descriptorId = descriptorId;
+        this.bodyLoader = null;
+        this.body = node;
+    }
+
+    /**
+     * @param owner       internal name of the declaring class
+     * @param declaration the method without its code
+     * @param bodyLoader  decodes the full method; called at most once
+     */
+    ASMMethod(String owner, MethodNode declaration, int nameId, int descriptorId,
+              Supplier<MethodNode> bodyLoader) {
+        this.owner = owner;
+        this.node = declaration;
+        this.nameId = nameId;
+        this.descriptorId = descriptorId;
+        this.bodyLoader = bodyLoader;
+    }
+
+    /**
+     * Interns the names and descriptors of a class's methods, so the
+     * method views read their ids instead of looking them up.
+     * @return name and descriptor id of each method, in pairs
+     */
+    static int[] symbolIds(List<MethodNode> methods) {
+        SymbolTable symbols = SymbolTable.global();
+        int[] ids = new int[2 * methods.size()];
+        for (int i = 0; i < methods.size(); i++) {
+            ids[2 * i] = symbols.intern(methods.get(i).name);
+            ids[2 * i + 1] = symbols.intern(methods.get(i).desc);
+        }
+        return ids;
     }
 
     @Override
@@ -29,6 +105,16 @@ final class ASMMethod implements IMethod {
         return node.name;
     }
 
+    @Override
+    public int getNameId() {
+        return nameId;
+    }
+
+    @Override
+    public int getDescriptorId() {
+        return descriptorId;
+    }
+
     @Override
     public int getParameterCount() {
         return Type.getArgumentTypes(node.desc).length;
@@ -36,30 +122,162 @@ final class ASMMethod implements IMethod {
 
     @Override
     public List<IInstruction> getInstructions() {
-        List<IInstruction> instructions = new ArrayList<>();
-        for (AbstractInsnNode insn : node.instructions) {
-            instructions.add(new ASMInstruction(insn));
+        List<IInstruction> result = instructions;
+        if (result == null) {
+            synchronized (this) {
+                result = instructions;
+                if (result == null) {
+                    InsnList insns = body().instructions;
+                    List<IInstruction> list = new ArrayList<>(insns.size());
+                    int index = 0;
+                    for (AbstractInsnNode insn : insns) {
+                        list.add(new ASMInstruction(insn, index++, this));
+                    }
+                    instructions = result = Collections.unmodifiableList(list);
+                }
+            }
         }
-        return instructions;
+        return result;
     }
 
     @Override
-    public List<Integer> getOpcodes() {   // if your IMethod declares this
-        List<Integer> opcodes = new ArrayList<>();
-        Iterator<AbstractInsnNode> it = node.instructions.iterator();
-        while (it.hasNext()) {
-            opcodes.add(it.next().getOpcode());
+    public List<Integer> getOpcodes() {
+        List<Integer> result = opcodes;
+        if (result == null) {
+            synchronized (this) {
+                result = opcodes;
+                if (result == null) {
+                    InsnList insns = body().instructions;
+                    List<Integer> list = new ArrayList<>(insns.size());
+                    for (AbstractInsnNode insn : insns) {
+                        list.add(insn.getOpcode());
+                    }
+                    opcodes = result = Collections.unmodifiableList(list);
+                }
+            }
         }
-        return opcodes;
+        return result;
     }
 
     @Override
     public List<ILocalVariable> getLocalVariables() {
-        if (node.localVariables == null) return List.of();
+        List<ILocalVariable> result = localVariables;
+        if (result == null) {
+            synchronized (this) {
+                result = localVariables;
+                if (result == null) {
+                    List<LocalVariableNode> locals = body().localVariables;
+                    if (locals == null) {
+                        result = List.of();
+                    } else {
+                        List<ILocalVariable> list = new ArrayList<>(locals.size());
+                        for (LocalVariableNode local : locals) {
+                            list.add(new ASMLocalVariable(local));
+                        }
+                        result = Collections.unmodifiableList(list);
+                    }
+                    localVariables = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int[] getOpcodeArray() {
+        return code().opcodes;
+    }
+
+    @Override
+    public int[] getVarIndexArray() {
+        return code().varIndices;
+    }
+
+    @Override
+    public ConstantTable getConstantTable() {
+        return code().constants;
+    }
+
+    @Override
+    public int[] getJumpTargetArray() {
+        return code().jumpTargets;
+    }
+
+    @Override
+    public int[] getSwitchTargets(int instructionIndex) {
+        int[][] switchTargets = code().switchTargets;
+        return switchTargets == null ? null : switchTargets[instructionIndex];
+    }
+
+    @Override
+    public int[] getExceptionTable() {
+        return code().exceptionTable;
+    }
+
+    @Override
+    public ControlFlowGraph getControlFlowGraph() {
+        ControlFlowGraph result = controlFlowGraph;
+        if (result == null) {
+            synchronized (this) {
+                result = controlFlowGraph;
+                if (result == null) {
+                    controlFlowGraph = result = ControlFlowGraph.build(this);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public IDataflow getDataflow() {
+        IDataflow result = dataflow;
+        if (result == null) {
+            synchronized (this) {
+                result = dataflow;
+                if (result == null) {
+                    dataflow = result = ASMDataflow.analyze(owner, body());
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public IInstructionCursor cursor() {
+        return new ASMInstructionCursor(this, body().instructions);
+    }
+
+    /**
+     * @return the shared label object at a label position, or null.
+     */
+    ASMLabel getLabelAt(int instructionIndex) {
+        return code().labels[instructionIndex];
+    }
+
+    private Code code() {
+        Code result = code;
+        if (result == null) {
+            synchronized (this) {
+                result = code;
+                if (result == null) {
+                    code = result = new Code(body());
+                }
+            }
+        }
+        return result;
+    }
 
-        return node.localVariables.stream()
-                .map(ASMLocalVariable::new)
-                .collect(Collectors.toList());
+    private MethodNode body() {
+        MethodNode result = body;
+        if (result == null) {
+            synchronized (this) {
+                result = body;
+                if (result == null) {
+                    body = result = bodyLoader.get();
+                }
+            }
+        }
+        return result;
     }
 
     @Override
@@ -71,4 +289,114 @@ final class ASMMethod implements IMethod {
     public boolean isStatic() {
         return (node.access & Opcodes.ACC_STATIC) != 0;
     }
+
+    /**
+     * @return the local-variable operand of a load, store, IINC or RET,
+     *         or -1.
+     */
+    static int varIndex(AbstractInsnNode insn) {
+        if (insn instanceof VarInsnNode) {
+            return ((VarInsnNode) insn).var;
+        }
+        if (insn instanceof IincInsnNode) {
+            return ((IincInsnNode) insn).var;
+        }
+        return -1;
+    }
+
+    /**
+     * Primitive, per-instruction view of the method body.
+     */
+    private static final class Code {
+        final int[] opcodes;
+        final int[] varIndices;
+        final int[] jumpTargets;
+        final int[][] switchTargets; // null when the method has no switch
+        final ASMLabel[] labels;     // non-null only at label positions
+        final ConstantTable constants;
+        final int[] exceptionTable;
+
+        Code(MethodNode node) {
+            int size = node.instructions.size();
+            opcodes = new int[size];
+            varIndices = new int[size];
+            jumpTargets = new int[size];
+            labels = new ASMLabel[size];
+
+            // Label index table: lets every jump resolve its target in O(1).
+            Map<LabelNode, Integer> labelIndices = new IdentityHashMap<>();
+            int constantCount = 0;
+            boolean hasSwitch = false;
+            int i = 0;
+            for (AbstractInsnNode insn : node.instructions) {
+                opcodes[i] = insn.getOpcode();
+                varIndices[i] = varIndex(insn);
+                if (insn instanceof LabelNode) {
+                    labels[i] = new ASMLabel((LabelNode) insn);
+                    labelIndices.put((LabelNode) insn, i);
+                }
+                if (ASMConstants.kind(insn) != ConstantTable.NONE) {
+                    constantCount++;
+                }
+                if (insn instanceof TableSwitchInsnNode || insn instanceof LookupSwitchInsnNode) {
+                    hasSwitch = true;
+                }
+                i++;
+            }
+
+            switchTargets = hasSwitch ? new int[size][] : null;
+            int[] indices = new int[constantCount];
+            byte[] kinds = new byte[constantCount];
+            long[] values = new long[constantCount];
+            int entry = 0;
+            i = 0;
+            for (AbstractInsnNode insn : node.instructions) {
+                jumpTargets[i] = insn instanceof JumpInsnNode
+                        ? labelIndices.get(((JumpInsnNode) insn).label)
+                        : -1;
+                if (insn instanceof TableSwitchInsnNode) {
+                    TableSwitchInsnNode sw = (TableSwitchInsnNode) insn;
+                    switchTargets[i] = resolve(sw.dflt, sw.labels, labelIndices);
+                } else if (insn instanceof LookupSwitchInsnNode) {
+                    LookupSwitchInsnNode sw = (LookupSwitchInsnNode) insn;
+                    switchTargets[i] = resolve(sw.dflt, sw.labels, labelIndices);
+                }
+
+                int kind = ASMConstants.kind(insn);
+                if (kind != ConstantTable.NONE) {
+                    indices[entry] = i;
+                    kinds[entry] = (byte) kind;
+                    values[entry] = ASMConstants.bits(insn);
+                    entry++;
+                }
+                i++;
+            }
+            constants = constantCount == 0
+                    ? ConstantTable.EMPTY
+                    : new ConstantTable(indices, kinds, values, constantCount);
+
+            List<TryCatchBlockNode> tryCatchBlocks = node.tryCatchBlocks;
+            int blockCount = tryCatchBlocks == null ? 0 : tryCatchBlocks.size();
+            exceptionTable = new int[blockCount * 3];
+            for (int b = 0; b < blockCount; b++) {
+                TryCatchBlockNode block = tryCatchBlocks.get(b);
+                exceptionTable[b * 3] = labelIndices.get(block.start);
+                exceptionTable[b * 3 + 1] = labelIndices.get(block.end);
+                exceptionTable[b * 3 + 2] = labelIndices.get(block.handler);
+            }
+        }
+
+        /**
+         * @return the default target followed by the case targets.
+         */
+        private static int[] resolve(LabelNode dflt, List<LabelNode> cases,
+                                     Map<LabelNode, Integer> labelIndices) {
+            int[] targets = new int[cases.size() + 1];
+            targets[0] = labelIndices.get(dflt);
+            for (int c = 0; c < cases.size(); c++) {
+                targets[c + 1] = labelIndices.get(cases.get(c));
+            }
+            return targets;
+        }
+    }
 }
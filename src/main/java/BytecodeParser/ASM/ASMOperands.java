@@ -0,0 +1,142 @@
+package BytecodeParser.ASM;
+
+import BytecodeParser.DynamicConstant;
+import BytecodeParser.InvokeDynamicInfo;
+import BytecodeParser.MemberRef;
+import BytecodeParser.SymbolTable;
+import BytecodeParser.TypeConstant;
+import org.objectweb.asm.ConstantDynamic;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MultiANewArrayInsnNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads member and type operands from ASM instruction nodes as
+ * SymbolTable ids.
+ */
+public final class ASMOperands {
+
+    private ASMOperands() {
+    }
+
+    static String owner(AbstractInsnNode insn) {
+        if (insn instanceof FieldInsnNode) {
+            return ((FieldInsnNode) insn).owner;
+        }
+        if (insn instanceof MethodInsnNode) {
+            return ((MethodInsnNode) insn).owner;
+        }
+        return null;
+    }
+
+    static String memberName(AbstractInsnNode insn) {
+        if (insn instanceof FieldInsnNode) {
+            return ((FieldInsnNode) insn).name;
+        }
+        if (insn instanceof MethodInsnNode) {
+            return ((MethodInsnNode) insn).name;
+        }
+        if (insn instanceof InvokeDynamicInsnNode) {
+            return ((InvokeDynamicInsnNode) insn).name;
+        }
+        return null;
+    }
+
+    static String memberDescriptor(AbstractInsnNode insn) {
+        if (insn instanceof FieldInsnNode) {
+            return ((FieldInsnNode) insn).desc;
+        }
+        if (insn instanceof MethodInsnNode) {
+            return ((MethodInsnNode) insn).desc;
+        }
+        if (insn instanceof InvokeDynamicInsnNode) {
+            return ((InvokeDynamicInsnNode) insn).desc;
+        }
+        return null;
+    }
+
+    static String type(AbstractInsnNode insn) {
+        if (insn instanceof TypeInsnNode) {
+            return ((TypeInsnNode) insn).desc;
+        }
+        if (insn instanceof MultiANewArrayInsnNode) {
+            return ((MultiANewArrayInsnNode) insn).desc;
+        }
+        return null;
+    }
+
+    /**
+     * @return the SymbolTable id of the name, or -1 for null
+     */
+    static int id(String name) {
+        return name == null ? -1 : SymbolTable.global().intern(name);
+    }
+
+    /**
+     * @return the canonical SymbolTable string, or null
+     */
+    static String canonical(String name) {
+        return name == null ? null : SymbolTable.global().canonical(name);
+    }
+
+    static InvokeDynamicInfo invokeDynamic(AbstractInsnNode insn) {
+        if (!(insn instanceof InvokeDynamicInsnNode)) {
+            return null;
+        }
+        InvokeDynamicInsnNode indy = (InvokeDynamicInsnNode) insn;
+        return invokeDynamic(indy.name, indy.desc, indy.bsm, indy.bsmArgs);
+    }
+
+    /**
+     * Converts ASM's view of an invokedynamic call site. Shared with other
+     * backends that read classes through ClassReader.
+     */
+    public static InvokeDynamicInfo invokeDynamic(String name, String descriptor,
+                                           Handle bootstrapMethod, Object[] bootstrapArguments) {
+        List<Object> arguments = new ArrayList<>(bootstrapArguments.length);
+        for (Object argument : bootstrapArguments) {
+            arguments.add(bootstrapArgument(argument));
+        }
+        SymbolTable symbols = SymbolTable.global();
+        return new InvokeDynamicInfo(symbols.intern(name), symbols.intern(descriptor),
+                memberRef(bootstrapMethod), arguments);
+    }
+
+    private static Object bootstrapArgument(Object argument) {
+        if (argument instanceof Type) {
+            Type type = (Type) argument;
+            return TypeConstant.of(type.getDescriptor(), type.getSort() == Type.METHOD
+                    ? TypeConstant.Sort.METHOD_TYPE
+                    : TypeConstant.Sort.CLASS);
+        }
+        if (argument instanceof Handle) {
+            return memberRef((Handle) argument);
+        }
+        if (argument instanceof String) {
+            return SymbolTable.global().canonical((String) argument);
+        }
+        if (argument instanceof ConstantDynamic) {
+            ConstantDynamic constant = (ConstantDynamic) argument;
+            List<Object> arguments = new ArrayList<>(constant.getBootstrapMethodArgumentCount());
+            for (int i = 0; i < constant.getBootstrapMethodArgumentCount(); i++) {
+                arguments.add(bootstrapArgument(constant.getBootstrapMethodArgument(i)));
+            }
+            SymbolTable symbols = SymbolTable.global();
+            return new DynamicConstant(symbols.intern(constant.getName()), symbols.intern(constant.getDescriptor()),
+                    memberRef(constant.getBootstrapMethod()), arguments);
+        }
+        return argument;
+    }
+
+    private static MemberRef memberRef(Handle handle) {
+        return MemberRef.of(handle.getOwner(), handle.getName(), handle.getDesc());
+    }
+}
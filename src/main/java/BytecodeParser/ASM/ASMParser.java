@@ -1,22 +1,142 @@
 package BytecodeParser.ASM;
 
+import BytecodeParser.ClassBytes;
+import BytecodeParser.DataRequirement;
 import BytecodeParser.IClass;
+import BytecodeParser.IClassHeader;
+import BytecodeParser.IClassListener;
 import BytecodeParser.IClassParser;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Set;
 
 /**
  * Adapter between ASM's ClassReader and the IClassParser abstraction.
  */
 public final class ASMParser implements IClassParser {
 
+    private final boolean lazyMethodBodies;
+
+    public ASMParser() {
+        this(false);
+    }
+
+    /**
+     * @param lazyMethodBodies when true, parse() keeps the class bytes and
+     *                         decodes each method body on first use instead
+     *                         of all of them up front. Suits classes where
+     *                         checks look at few methods' code; byte arrays
+     *                         passed to parse() must then stay unchanged.
+     */
+    public ASMParser(boolean lazyMethodBodies) {
+        this.lazyMethodBodies = lazyMethodBodies;
+    }
+
     @Override
     public IClass parse(String className) throws IOException {
-        ClassReader reader = new ClassReader(className);
+        return parse(className, DataRequirement.defaults());
+    }
+
+    @Override
+    public IClass parse(String className, Set<DataRequirement> requirements) throws IOException {
+        return parse(new ClassReader(className), requirements);
+    }
+
+    /**
+     * Reads the header straight from the constant pool; the class body is
+     * never visited.
+     */
+    @Override
+    public IClassHeader parseHeader(String className) throws IOException {
+        return header(new ClassReader(className));
+    }
+
+    @Override
+    public IClassHeader parseHeader(byte[] classFile) {
+        return header(new ClassReader(classFile));
+    }
+
+    @Override
+    public IClass parse(byte[] classFile, Set<DataRequirement> requirements) {
+        return parse(new ClassReader(classFile), requirements);
+    }
+
+    @Override
+    public IClass parse(ByteBuffer classFile, Set<DataRequirement> requirements) {
+        // A lazy class outlives this call, so it gets its own copy of the bytes.
+        ClassReader reader = lazyMethodBodies
+                ? new ClassReader(ClassBytes.toArray(classFile))
+                : reader(classFile);
+        return parse(reader, requirements);
+    }
+
+    @Override
+    public void scan(String className, Set<DataRequirement> requirements,
+                     IClassListener listener) throws IOException {
+        scan(new ClassReader(className), requirements, listener);
+    }
+
+    @Override
+    public void scan(byte[] classFile, Set<DataRequirement> requirements,
+                     IClassListener listener) {
+        scan(new ClassReader(classFile), requirements, listener);
+    }
+
+    @Override
+    public void scan(ByteBuffer classFile, Set<DataRequirement> requirements,
+                     IClassListener listener) {
+        scan(reader(classFile), requirements, listener);
+    }
+
+    private IClass parse(ClassReader reader, Set<DataRequirement> requirements) {
+        int flags = readerFlags(requirements);
+        if (lazyMethodBodies && (flags & ClassReader.SKIP_CODE) == 0) {
+            return new ASMLazyClass(reader, flags);
+        }
         ClassNode classNode = new ClassNode();
-        reader.accept(classNode, ClassReader.EXPAND_FRAMES);
+        reader.accept(classNode, flags);
         return new ASMClass(classNode);
     }
+
+    private static IClassHeader header(ClassReader reader) {
+        return new ASMClassHeader(reader.getClassName(), reader.getSuperName(), reader.getInterfaces());
+    }
+
+    private void scan(ClassReader reader, Set<DataRequirement> requirements,
+                      IClassListener listener) {
+        reader.accept(new ASMClassScanner(listener), readerFlags(requirements));
+    }
+
+    /**
+     * Reads heap buffers in place; other buffers are copied once.
+     */
+    private static ClassReader reader(ByteBuffer classFile) {
+        if (classFile.hasArray()) {
+            return new ClassReader(classFile.array(),
+                    classFile.arrayOffset() + classFile.position(), classFile.remaining());
+        }
+        return new ClassReader(ClassBytes.toArray(classFile));
+    }
+
+    /**
+     * Maps the requested class data onto ClassReader parsing options so
+     * that nothing is decoded unless someone asked for it.
+     */
+    public static int readerFlags(Set<DataRequirement> requirements) {
+        boolean frames = requirements.contains(DataRequirement.FRAMES);
+        boolean locals = requirements.contains(DataRequirement.LOCAL_VARIABLES);
+        boolean code = frames || locals || requirements.contains(DataRequirement.CODE);
+
+        int flags = frames ? ClassReader.EXPAND_FRAMES : ClassReader.SKIP_FRAMES;
+        if (!locals) {
+            flags |= ClassReader.SKIP_DEBUG;
+        }
+        if (!code) {
+            flags |= ClassReader.SKIP_CODE;
+        }
+        return flags;
+    }
 }
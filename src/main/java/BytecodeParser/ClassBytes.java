@@ -0,0 +1,58 @@
+package BytecodeParser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads class files into the heap arrays bytecode libraries expect.
+ */
+public final class ClassBytes {
+
+    // Above this size, mapping the file beats going through a read buffer.
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    private ClassBytes() {
+    }
+
+    /**
+     * Reads the whole file with one bulk transfer into an exactly sized array.
+     */
+    public static byte[] read(Path classFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(classFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Class file too large: " + classFile);
+            }
+
+            byte[] bytes = new byte[(int) size];
+            if (size >= MAP_THRESHOLD) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                mapped.get(bytes);
+                return bytes;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Unexpected end of class file: " + classFile);
+                }
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * @return the remaining bytes of the buffer; the buffer's position is
+     *         left unchanged.
+     */
+    public static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,17 @@
+package BytecodeParser;
+
+import java.io.IOException;
+
+/**
+ * Reads a class file again on demand, so a model can go back to the
+ * bytes for the rare query its own data does not cover without keeping
+ * them for its whole lifetime.
+ */
+@FunctionalInterface
+public interface ClassFileSource {
+
+    /**
+     * @return the bytes of the class file the model was parsed from
+     */
+    byte[] read() throws IOException;
+}
@@ -0,0 +1,306 @@
+package BytecodeParser;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A few bits and counts describing a class, read straight from the class
+ * file without building a model or decoding instructions into events.
+ * Checks use it to say up front whether they can possibly report
+ * anything for a class (Check.appliesTo), so the linter can skip them,
+ * and skip parsing altogether when no check applies.
+ *
+ * Every value over-approximates what the models expose: a check that
+ * tests the summary before running never misses a finding.
+ */
+public final class ClassSummary {
+
+    /** Some method has a Code attribute. */
+    public static final int HAS_CODE = 1;
+    /** Some method has an IF* or IFNULL/IFNONNULL instruction. */
+    public static final int HAS_CONDITIONAL_JUMPS = 1 << 1;
+    /** Some method pushes a numeric constant other than the int values -1, 0 and 1. */
+    public static final int HAS_NON_TRIVIAL_CONSTANTS = 1 << 2;
+    /** Some method has a non-empty LocalVariableTable. */
+    public static final int HAS_LOCAL_VARIABLES = 1 << 3;
+    /** Some field is public. */
+    public static final int HAS_PUBLIC_FIELDS = 1 << 4;
+    public static final int IS_INTERFACE = 1 << 5;
+
+    private final int flags;
+    private final int fieldCount;
+    private final int methodCount;
+    private final int interfaceCount;
+    private final int maxParameterCount;
+    private final int conditionalJumpCount;
+
+    public ClassSummary(int flags, int fieldCount, int methodCount, int interfaceCount,
+                        int maxParameterCount, int conditionalJumpCount) {
+        this.flags = flags;
+        this.fieldCount = fieldCount;
+        this.methodCount = methodCount;
+        this.interfaceCount = interfaceCount;
+        this.maxParameterCount = maxParameterCount;
+        this.conditionalJumpCount = conditionalJumpCount;
+    }
+
+    /**
+     * Reads the summary of a class file. The buffer's position is not
+     * changed.
+     */
+    public static ClassSummary read(ByteBuffer classFile) {
+        ClassReader reader = classFile.hasArray()
+                ? new ClassReader(classFile.array(), classFile.arrayOffset() + classFile.position(),
+                        classFile.remaining())
+                : new ClassReader(ClassBytes.toArray(classFile));
+        return new Reader(reader).read();
+    }
+
+    /**
+     * @return true if every bit of the given flags is set
+     */
+    public boolean has(int flag) {
+        return (flags & flag) == flag;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public int getMethodCount() {
+        return methodCount;
+    }
+
+    public int getInterfaceCount() {
+        return interfaceCount;
+    }
+
+    /**
+     * @return the largest parameter count of any method, constructors
+     *         included
+     */
+    public int getMaxParameterCount() {
+        return maxParameterCount;
+    }
+
+    /**
+     * @return the number of conditional jumps in the whole class
+     */
+    public int getConditionalJumpCount() {
+        return conditionalJumpCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassSummary{flags=" + Integer.toBinaryString(flags)
+                + ", fields=" + fieldCount + ", methods=" + methodCount
+                + ", interfaces=" + interfaceCount + ", maxParameters=" + maxParameterCount
+                + ", conditionalJumps=" + conditionalJumpCount + "}";
+    }
+
+    /**
+     * Walks the member and attribute tables with ClassReader's raw
+     * accessors. Instructions are stepped over by length only; nothing
+     * is allocated per instruction.
+     */
+    private static final class Reader {
+        private final ClassReader reader;
+        private final char[] chars;
+
+        private int flags;
+        private int maxParameterCount;
+        private int conditionalJumpCount;
+
+        Reader(ClassReader reader) {
+            this.reader = reader;
+            this.chars = new char[reader.getMaxStringLength()];
+        }
+
+        ClassSummary read() {
+            int offset = reader.header;
+            if ((reader.readUnsignedShort(offset) & Opcodes.ACC_INTERFACE) != 0) {
+                flags |= IS_INTERFACE;
+            }
+            int interfaceCount = reader.readUnsignedShort(offset + 6);
+            offset += 8 + 2 * interfaceCount;
+
+            int fieldCount = reader.readUnsignedShort(offset);
+            offset += 2;
+            for (int f = 0; f < fieldCount; f++) {
+                if ((reader.readUnsignedShort(offset) & Opcodes.ACC_PUBLIC) != 0) {
+                    flags |= HAS_PUBLIC_FIELDS;
+                }
+                offset = skipAttributes(offset + 6);
+            }
+
+            int methodCount = reader.readUnsignedShort(offset);
+            offset += 2;
+            for (int m = 0; m < methodCount; m++) {
+                String descriptor = reader.readUTF8(offset + 4, chars);
+                maxParameterCount = Math.max(maxParameterCount, parameterCount(descriptor));
+                int attributeCount = reader.readUnsignedShort(offset + 6);
+                offset += 8;
+                for (int a = 0; a < attributeCount; a++) {
+                    if ("Code".equals(reader.readUTF8(offset, chars))) {
+                        readCode(offset + 6);
+                    }
+                    offset += 6 + reader.readInt(offset + 2);
+                }
+            }
+
+            return new ClassSummary(flags, fieldCount, methodCount, interfaceCount,
+                    maxParameterCount, conditionalJumpCount);
+        }
+
+        /**
+         * @param offset start of a Code attribute's contents (max_stack)
+         */
+        private void readCode(int offset) {
+            flags |= HAS_CODE;
+            int codeLength = reader.readInt(offset + 4);
+            int codeStart = offset + 8;
+            int pc = 0;
+            while (pc < codeLength) {
+                pc += readInstruction(codeStart, pc);
+            }
+
+            int cursor = codeStart + codeLength;
+            cursor += 2 + 8 * reader.readUnsignedShort(cursor);   // exception table
+            int attributeCount = reader.readUnsignedShort(cursor);
+            cursor += 2;
+            for (int a = 0; a < attributeCount; a++) {
+                if ("LocalVariableTable".equals(reader.readUTF8(cursor, chars))
+                        && reader.readUnsignedShort(cursor + 6) > 0) {
+                    flags |= HAS_LOCAL_VARIABLES;
+                }
+                cursor += 6 + reader.readInt(cursor + 2);
+            }
+        }
+
+        /**
+         * Records the instruction at pc.
+         * @return its length in bytes
+         */
+        private int readInstruction(int codeStart, int pc) {
+            int at = codeStart + pc;
+            int opcode = reader.readByte(at);
+            switch (opcode) {
+                case Opcodes.ICONST_2: case Opcodes.ICONST_3: case Opcodes.ICONST_4: case Opcodes.ICONST_5:
+                case Opcodes.LCONST_0: case Opcodes.LCONST_1:
+                case Opcodes.FCONST_0: case Opcodes.FCONST_1: case Opcodes.FCONST_2:
+                case Opcodes.DCONST_0: case Opcodes.DCONST_1:
+                    flags |= HAS_NON_TRIVIAL_CONSTANTS;
+                    return 1;
+                case Opcodes.BIPUSH:
+                    intConstant((byte) reader.readByte(at + 1));
+                    return 2;
+                case Opcodes.SIPUSH:
+                    intConstant(reader.readShort(at + 1));
+                    return 3;
+                case Opcodes.LDC:
+                    ldc(reader.readByte(at + 1));
+                    return 2;
+                case 19: // LDC_W
+                case 20: // LDC2_W
+                    ldc(reader.readUnsignedShort(at + 1));
+                    return 3;
+                case Opcodes.ILOAD: case Opcodes.LLOAD: case Opcodes.FLOAD: case Opcodes.DLOAD: case Opcodes.ALOAD:
+                case Opcodes.ISTORE: case Opcodes.LSTORE: case Opcodes.FSTORE: case Opcodes.DSTORE: case Opcodes.ASTORE:
+                case Opcodes.RET:
+                case Opcodes.NEWARRAY:
+                    return 2;
+                case Opcodes.IINC:
+                case Opcodes.GOTO: case Opcodes.JSR:
+                case Opcodes.GETSTATIC: case Opcodes.PUTSTATIC: case Opcodes.GETFIELD: case Opcodes.PUTFIELD:
+                case Opcodes.INVOKEVIRTUAL: case Opcodes.INVOKESPECIAL: case Opcodes.INVOKESTATIC:
+                case Opcodes.NEW: case Opcodes.ANEWARRAY: case Opcodes.CHECKCAST: case Opcodes.INSTANCEOF:
+                    return 3;
+                case Opcodes.MULTIANEWARRAY:
+                    return 4;
+                case Opcodes.INVOKEINTERFACE:
+                case Opcodes.INVOKEDYNAMIC:
+                case 200: // GOTO_W
+                case 201: // JSR_W
+                    return 5;
+                case 196: // WIDE
+                    return reader.readByte(at + 1) == Opcodes.IINC ? 6 : 4;
+                case Opcodes.TABLESWITCH: {
+                    int table = codeStart + align(pc);
+                    int low = reader.readInt(table + 4);
+                    int high = reader.readInt(table + 8);
+                    return table - at + 12 + 4 * (high - low + 1);
+                }
+                case Opcodes.LOOKUPSWITCH: {
+                    int table = codeStart + align(pc);
+                    return table - at + 8 + 8 * reader.readInt(table + 4);
+                }
+                default:
+                    if ((opcode >= Opcodes.IFEQ && opcode <= Opcodes.IF_ACMPNE)
+                            || opcode == Opcodes.IFNULL || opcode == Opcodes.IFNONNULL) {
+                        flags |= HAS_CONDITIONAL_JUMPS;
+                        conditionalJumpCount++;
+                        return 3;
+                    }
+                    return 1;
+            }
+        }
+
+        /**
+         * @return the offset of a switch's 4-byte aligned operands
+         */
+        private static int align(int pc) {
+            return (pc + 4) & ~3;
+        }
+
+        private void intConstant(int value) {
+            if (value < -1 || value > 1) {
+                flags |= HAS_NON_TRIVIAL_CONSTANTS;
+            }
+        }
+
+        private void ldc(int constantIndex) {
+            int item = reader.getItem(constantIndex);
+            switch (reader.readByte(item - 1)) {
+                case 3: // CONSTANT_Integer
+                    intConstant(reader.readInt(item));
+                    break;
+                case 4: // CONSTANT_Float
+                case 5: // CONSTANT_Long
+                case 6: // CONSTANT_Double
+                    flags |= HAS_NON_TRIVIAL_CONSTANTS;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private int skipAttributes(int offset) {
+            int attributeCount = reader.readUnsignedShort(offset);
+            offset += 2;
+            for (int a = 0; a < attributeCount; a++) {
+                offset += 6 + reader.readInt(offset + 2);
+            }
+            return offset;
+        }
+
+        private static int parameterCount(String descriptor) {
+            int count = 0;
+            int i = 1;
+            while (descriptor.charAt(i) != ')') {
+                char c = descriptor.charAt(i);
+                while (c == '[') {
+                    c = descriptor.charAt(++i);
+                }
+                i = c == 'L' ? descriptor.indexOf(';', i) + 1 : i + 1;
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package BytecodeParser.Compact;
+
+import BytecodeParser.ClassFileSource;
+import BytecodeParser.ConstantTable;
+import BytecodeParser.IClass;
+import BytecodeParser.IField;
+import BytecodeParser.IMethod;
+import BytecodeParser.InvokeDynamicInfo;
+import BytecodeParser.SymbolTable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * IClass stored as flat arrays instead of an object tree. Names are
+ * stored as SymbolTable ids, so their strings are shared run-wide, and
+ * members are addressed by index. Each method body is a handful of
+ * primitive arrays indexed by instruction: opcodes, local-variable
+ * operands and resolved jump targets, plus a label bitmap, the switch
+ * target table and the ConstantTable. Member and type operands are ids
+ * into a per-method reference table of (owner or type, name, descriptor)
+ * triples.
+ *
+ * Instruction, label and local-variable objects exist only if a caller
+ * asks for the List views; the primitive accessors of IMethod read the
+ * arrays directly. Built by CompactDecoder; immutable once built.
+ *
+ * The arrays leave out operands that only a frame analysis needs (LDC
+ * constants, array dimensions, catch types), so a dataflow request re-reads
+ * the class through its ClassFileSource and decodes just that method into
+ * a MethodNode for ASMDataflow. Neither the bytes nor the MethodNode is
+ * kept.
+ */
+public final class CompactClass implements IClass {
+
+    static final int[] NO_INTS = new int[0];
+
+    private final int classNameId;
+    private final String superClassName;
+    private final List<String> interfaces;
+
+    final int[] fieldAccess;
+    final int[] fieldNames;
+
+    final int[] methodAccess;
+    final int[] methodNames;
+    final int[] methodDescriptors;
+
+    final int[][] opcodes;
+    final int[][] varIndices;
+    final int[][] jumpTargets;
+    final BitSet[] labels;
+    final int[][][] switchTargets;   // [method] is null when the method has no switch
+    final ConstantTable[] constants;
+    final int[][] localIndices;
+    final int[][] localNames;
+    final int[][] exceptionTables;   // (start, end, handler) triples per method
+    final int[][] refIndices;        // per instruction: offset into refTables[method], or -1
+    final int[][] refTables;
+    final InvokeDynamicInfo[][] invokeDynamics; // [method] is null when the method has no invokedynamic
+
+    private final ClassFileSource source;   // null when the class cannot be re-read
+    private final int sourceFlags;
+
+    private volatile List<IMethod> methods;
+    private volatile List<IField> fields;
+
+    CompactClass(int classNameId, String superClassName, List<String> interfaces,
+                 int[] fieldAccess, int[] fieldNames,
+                 int[] methodAccess, int[] methodNames, int[] methodDescriptors,
+                 int[][] opcodes, int[][] varIndices, int[][] jumpTargets, BitSet[] labels,
+                 int[][][] switchTargets, ConstantTable[] constants,
+                 int[][] localIndices, int[][] localNames, int[][] exceptionTables,
+                 int[][] refIndices, int[][] refTables, InvokeDynamicInfo[][] invokeDynamics,
+                 ClassFileSource source, int sourceFlags) {
+        this.classNameId = classNameId;
+        this.superClassName = superClassName;
+        this.interfaces = interfaces;
+        this.fieldAccess = fieldAccess;
+        this.fieldNames = fieldNames;
+        this.methodAccess = methodAccess;
+        this.methodNames = methodNames;
+        this.methodDescriptors = methodDescriptors;
+        this.opcodes = opcodes;
+        this.varIndices = varIndices;
+        this.jumpTargets = jumpTargets;
+        this.labels = labels;
+        this.switchTargets = switchTargets;
+        this.constants = constants;
+        this.localIndices = localIndices;
+        this.localNames = localNames;
+        this.exceptionTables = exceptionTables;
+        this.refIndices = refIndices;
+        this.refTables = refTables;
+        this.invokeDynamics = invokeDynamics;
+        this.source = source;
+        this.sourceFlags = sourceFlags;
+    }
+
+    @Override
+    public String getClassName() {
+        return name(classNameId);
+    }
+
+    @Override
+    public int getClassNameId() {
+        return classNameId;
+    }
+
+    @Override
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    @Override
+    public List<String> getDirectInterfaces() {
+        return interfaces;
+    }
+
+    @Override
+    public List<IMethod> getMethods() {
+        List<IMethod> result = methods;
+        if (result == null) {
+            synchronized (this) {
+                result = methods;
+                if (result == null) {
+                    List<IMethod> list = new ArrayList<>(methodNames.length);
+                    for (int i = 0; i < methodNames.length; i++) {
+                        list.add(new CompactMethod(this, i));
+                    }
+                    methods = result = Collections.unmodifiableList(list);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<IField> getFields() {
+        List<IField> result = fields;
+        if (result == null) {
+            synchronized (this) {
+                result = fields;
+                if (result == null) {
+                    List<IField> list = new ArrayList<>(fieldNames.length);
+                    for (int i = 0; i < fieldNames.length; i++) {
+                        list.add(new CompactField(fieldNames[i], fieldAccess[i]));
+                    }
+                    fields = result = Collections.unmodifiableList(list);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Re-reads the class and decodes the method at methodIndex, with the
+     * same flags as the arrays, so instruction indices agree.
+     * @throws UnsupportedOperationException if the class was parsed from
+     *         bytes without a ClassFileSource
+     * @throws UncheckedIOException          if the class cannot be re-read
+     */
+    MethodNode body(int methodIndex) {
+        if (source == null) {
+            throw new UnsupportedOperationException(
+                    "Cannot re-read " + getClassName() + "; parse it with a ClassFileSource");
+        }
+        byte[] classFile;
+        try {
+            classFile = source.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        MethodNode body = new MethodNode(Opcodes.ASM9, methodAccess[methodIndex], name(methodNames[methodIndex]),
+                name(methodDescriptors[methodIndex]), null, null);
+
+        new ClassReader(classFile).accept(new ClassVisitor(Opcodes.ASM9) {
+            private int next;
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor,
+                                             String signature, String[] exceptions) {
+                return next++ == methodIndex ? body : null;
+            }
+        }, sourceFlags);
+
+        return body;
+    }
+
+    static String name(int symbolId) {
+        return SymbolTable.global().name(symbolId);
+    }
+}
@@ -0,0 +1,466 @@
+package BytecodeParser.Compact;
+
+import BytecodeParser.ASM.ASMOperands;
+import BytecodeParser.ClassFileSource;
+import BytecodeParser.ConstantTable;
+import BytecodeParser.InvokeDynamicInfo;
+import BytecodeParser.SymbolTable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills a CompactClass straight from ClassReader events, without building
+ * ASM's tree model. Instruction positions match what a MethodNode would
+ * hold for the same events (labels, line numbers and frames included), so
+ * indices agree with the ASM backend. Names go into the run-wide
+ * SymbolTable.
+ *
+ * A decoder reads one class at a time and can be reset() and reused, in
+ * which case its growable buffers and tables keep their capacity.
+ */
+final class CompactDecoder extends ClassVisitor {
+
+    private final SymbolTable symbols = SymbolTable.global();
+
+    private int classNameId;
+    private String superClassName;
+    private List<String> interfaces;
+
+    private final Ints fieldAccess = new Ints();
+    private final Ints fieldNames = new Ints();
+    private final Ints methodAccess = new Ints();
+    private final Ints methodNames = new Ints();
+    private final Ints methodDescriptors = new Ints();
+
+    private final List<int[]> opcodes = new ArrayList<>();
+    private final List<int[]> varIndices = new ArrayList<>();
+    private final List<int[]> jumpTargets = new ArrayList<>();
+    private final List<BitSet> labels = new ArrayList<>();
+    private final List<int[][]> switchTargets = new ArrayList<>();
+    private final List<ConstantTable> constants = new ArrayList<>();
+    private final List<int[]> localIndices = new ArrayList<>();
+    private final List<int[]> localNames = new ArrayList<>();
+    private final List<int[]> exceptionTables = new ArrayList<>();
+    private final List<int[]> refIndices = new ArrayList<>();
+    private final List<int[]> refTables = new ArrayList<>();
+    private final List<InvokeDynamicInfo[]> invokeDynamics = new ArrayList<>();
+
+    private final MethodDecoder methodDecoder = new MethodDecoder();
+    private ClassFileSource source;
+    private int sourceFlags;
+    private CompactClass result;
+
+    CompactDecoder() {
+        super(Opcodes.ASM9);
+    }
+
+    /**
+     * Forgets the previous class so the decoder can read another one.
+     */
+    void reset() {
+        classNameId = -1;
+        superClassName = null;
+        interfaces = null;
+        fieldAccess.size = 0;
+        fieldNames.size = 0;
+        methodAccess.size = 0;
+        methodNames.size = 0;
+        methodDescriptors.size = 0;
+        opcodes.clear();
+        varIndices.clear();
+        jumpTargets.clear();
+        labels.clear();
+        switchTargets.clear();
+        constants.clear();
+        localIndices.clear();
+        localNames.clear();
+        exceptionTables.clear();
+        refIndices.clear();
+        refTables.clear();
+        invokeDynamics.clear();
+        methodDecoder.reset();
+        source = null;
+        result = null;
+    }
+
+    /**
+     * Reads the class with the given ClassReader flags.
+     * @param source reads the class again for dataflow analysis; may be null
+     * @return the decoded class
+     */
+    CompactClass decode(ClassReader reader, int readerFlags, ClassFileSource source) {
+        this.source = source;
+        sourceFlags = readerFlags;
+        reader.accept(this, readerFlags);
+        return result;
+    }
+
+    @Override
+    public void visit(int version, int access, String name, String signature,
+                      String superName, String[] interfaceNames) {
+        classNameId = symbols.intern(name);
+        superClassName = superName == null ? null : symbols.canonical(superName);
+        if (interfaceNames == null || interfaceNames.length == 0) {
+            interfaces = List.of();
+        } else {
+            String[] canonical = new String[interfaceNames.length];
+            for (int i = 0; i < canonical.length; i++) {
+                canonical[i] = symbols.canonical(interfaceNames[i]);
+            }
+            interfaces = List.of(canonical);
+        }
+    }
+
+    @Override
+    public FieldVisitor visitField(int access, String name, String descriptor,
+                                   String signature, Object value) {
+        fieldAccess.add(access);
+        fieldNames.add(intern(name));
+        return null;
+    }
+
+    @Override
+    public MethodVisitor visitMethod(int access, String name, String descriptor,
+                                     String signature, String[] exceptions) {
+        methodAccess.add(access);
+        methodNames.add(intern(name));
+        methodDescriptors.add(intern(descriptor));
+        methodDecoder.reset();
+        return methodDecoder;
+    }
+
+    @Override
+    public void visitEnd() {
+        int methodCount = methodNames.size;
+        result = new CompactClass(classNameId, superClassName, interfaces,
+                fieldAccess.toArray(), fieldNames.toArray(),
+                methodAccess.toArray(), methodNames.toArray(), methodDescriptors.toArray(),
+                opcodes.toArray(new int[methodCount][]),
+                varIndices.toArray(new int[methodCount][]),
+                jumpTargets.toArray(new int[methodCount][]),
+                labels.toArray(new BitSet[methodCount]),
+                switchTargets.toArray(new int[methodCount][][]),
+                constants.toArray(new ConstantTable[methodCount]),
+                localIndices.toArray(new int[methodCount][]),
+                localNames.toArray(new int[methodCount][]),
+                exceptionTables.toArray(new int[methodCount][]),
+                refIndices.toArray(new int[methodCount][]),
+                refTables.toArray(new int[methodCount][]),
+                invokeDynamics.toArray(new InvokeDynamicInfo[methodCount][]),
+                source, sourceFlags);
+    }
+
+    private int intern(String value) {
+        return symbols.intern(value);
+    }
+
+    /**
+     * Decodes one method body at a time into reusable growable arrays,
+     * then copies them out at exact size.
+     */
+    private final class MethodDecoder extends MethodVisitor {
+
+        private final Ints ops = new Ints();
+        private final Ints vars = new Ints();
+        private final Ints jumps = new Ints();
+        private BitSet labelBits = new BitSet();
+        private final Map<Label, Integer> labelIndices = new IdentityHashMap<>();
+
+        private final Ints pendingJumpAt = new Ints();
+        private final List<Label> pendingJumpTo = new ArrayList<>();
+        private final Ints pendingSwitchAt = new Ints();
+        private final List<Label[]> pendingSwitchTo = new ArrayList<>();
+        private final List<Label> pendingTryCatch = new ArrayList<>();
+
+        private final Ints constantAt = new Ints();
+        private final Ints constantKinds = new Ints();
+        private long[] constantValues = new long[16];
+
+        private final Ints locals = new Ints();
+        private final Ints localNameIds = new Ints();
+
+        private final Ints refs = new Ints();
+        private final Ints refTable = new Ints();
+        private final Ints invokeDynamicAt = new Ints();
+        private final List<InvokeDynamicInfo> invokeDynamicInfos = new ArrayList<>();
+
+        MethodDecoder() {
+            super(Opcodes.ASM9);
+        }
+
+        void reset() {
+            ops.size = 0;
+            vars.size = 0;
+            jumps.size = 0;
+            labelBits = new BitSet();
+            labelIndices.clear();
+            pendingJumpAt.size = 0;
+            pendingJumpTo.clear();
+            pendingSwitchAt.size = 0;
+            pendingSwitchTo.clear();
+            pendingTryCatch.clear();
+            constantAt.size = 0;
+            constantKinds.size = 0;
+            locals.size = 0;
+            localNameIds.size = 0;
+            refs.size = 0;
+            refTable.size = 0;
+            invokeDynamicAt.size = 0;
+            invokeDynamicInfos.clear();
+        }
+
+        private int add(int opcode, int var) {
+            int index = ops.size;
+            ops.add(opcode);
+            vars.add(var);
+            jumps.add(-1);
+            refs.add(-1);
+            return index;
+        }
+
+        /**
+         * Attaches an (owner or type, name, descriptor) operand to the
+         * instruction; unused slots are -1.
+         */
+        private void reference(int index, String ownerOrType, String name, String descriptor) {
+            refs.data[index] = refTable.size;
+            refTable.add(ownerOrType == null ? -1 : intern(ownerOrType));
+            refTable.add(name == null ? -1 : intern(name));
+            refTable.add(descriptor == null ? -1 : intern(descriptor));
+        }
+
+        private void constant(int index, int kind, long bits) {
+            int entry = constantAt.size;
+            constantAt.add(index);
+            constantKinds.add(kind);
+            if (entry == constantValues.length) {
+                constantValues = Arrays.copyOf(constantValues, entry * 2);
+            }
+            constantValues[entry] = bits;
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            int index = add(opcode, -1);
+            if (opcode >= Opcodes.ICONST_M1 && opcode <= Opcodes.ICONST_5) {
+                constant(index, ConstantTable.INT, opcode - Opcodes.ICONST_0);
+            } else if (opcode == Opcodes.LCONST_0 || opcode == Opcodes.LCONST_1) {
+                constant(index, ConstantTable.LONG, opcode - Opcodes.LCONST_0);
+            } else if (opcode >= Opcodes.FCONST_0 && opcode <= Opcodes.FCONST_2) {
+                constant(index, ConstantTable.FLOAT, Double.doubleToRawLongBits(opcode - Opcodes.FCONST_0));
+            } else if (opcode == Opcodes.DCONST_0 || opcode == Opcodes.DCONST_1) {
+                constant(index, ConstantTable.DOUBLE, Double.doubleToRawLongBits(opcode - Opcodes.DCONST_0));
+            }
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            int index = add(opcode, -1);
+            if (opcode == Opcodes.BIPUSH || opcode == Opcodes.SIPUSH) {
+                constant(index, ConstantTable.INT, operand);
+            }
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int var) {
+            add(opcode, var);
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            reference(add(opcode, -1), type, null, null);
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            reference(add(opcode, -1), owner, name, descriptor);
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor,
+                                    boolean isInterface) {
+            reference(add(opcode, -1), owner, name, descriptor);
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+                                           Object... bootstrapMethodArguments) {
+            int index = add(Opcodes.INVOKEDYNAMIC, -1);
+            reference(index, null, name, descriptor);
+            invokeDynamicAt.add(index);
+            invokeDynamicInfos.add(ASMOperands.invokeDynamic(name, descriptor,
+                    bootstrapMethodHandle, bootstrapMethodArguments));
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            pendingJumpAt.add(add(opcode, -1));
+            pendingJumpTo.add(label);
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            int index = add(-1, -1);
+            labelBits.set(index);
+            labelIndices.put(label, index);
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            int index = add(Opcodes.LDC, -1);
+            if (value instanceof Integer) {
+                constant(index, ConstantTable.INT, (Integer) value);
+            } else if (value instanceof Long) {
+                constant(index, ConstantTable.LONG, (Long) value);
+            } else if (value instanceof Float) {
+                constant(index, ConstantTable.FLOAT, Double.doubleToRawLongBits((Float) value));
+            } else if (value instanceof Double) {
+                constant(index, ConstantTable.DOUBLE, Double.doubleToRawLongBits((Double) value));
+            }
+        }
+
+        @Override
+        public void visitIincInsn(int var, int increment) {
+            add(Opcodes.IINC, var);
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int min, int max, Label dflt, Label... cases) {
+            pendingSwitch(add(Opcodes.TABLESWITCH, -1), dflt, cases);
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] cases) {
+            pendingSwitch(add(Opcodes.LOOKUPSWITCH, -1), dflt, cases);
+        }
+
+        private void pendingSwitch(int index, Label dflt, Label[] cases) {
+            Label[] targets = new Label[cases.length + 1];
+            targets[0] = dflt;
+            System.arraycopy(cases, 0, targets, 1, cases.length);
+            pendingSwitchAt.add(index);
+            pendingSwitchTo.add(targets);
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+            reference(add(Opcodes.MULTIANEWARRAY, -1), descriptor, null, null);
+        }
+
+        @Override
+        public void visitFrame(int type, int numLocal, Object[] local, int numStack, Object[] stack) {
+            add(-1, -1);
+        }
+
+        @Override
+        public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            pendingTryCatch.add(start);
+            pendingTryCatch.add(end);
+            pendingTryCatch.add(handler);
+        }
+
+        @Override
+        public void visitLineNumber(int line, Label start) {
+            add(-1, -1);
+        }
+
+        @Override
+        public void visitLocalVariable(String name, String descriptor, String signature,
+                                       Label start, Label end, int index) {
+            locals.add(index);
+            localNameIds.add(intern(name));
+        }
+
+        @Override
+        public void visitEnd() {
+            // Jumps may point forward, so targets are resolved once every label is known.
+            for (int i = 0; i < pendingJumpAt.size; i++) {
+                jumps.data[pendingJumpAt.data[i]] = labelIndices.get(pendingJumpTo.get(i));
+            }
+
+            int[][] switches = null;
+            if (pendingSwitchAt.size > 0) {
+                switches = new int[ops.size][];
+                for (int i = 0; i < pendingSwitchAt.size; i++) {
+                    Label[] targets = pendingSwitchTo.get(i);
+                    int[] resolved = new int[targets.length];
+                    for (int t = 0; t < targets.length; t++) {
+                        resolved[t] = labelIndices.get(targets[t]);
+                    }
+                    switches[pendingSwitchAt.data[i]] = resolved;
+                }
+            }
+
+            int[] exceptionTable = CompactClass.NO_INTS;
+            if (!pendingTryCatch.isEmpty()) {
+                exceptionTable = new int[pendingTryCatch.size()];
+                for (int i = 0; i < exceptionTable.length; i++) {
+                    exceptionTable[i] = labelIndices.get(pendingTryCatch.get(i));
+                }
+            }
+
+            ConstantTable table = ConstantTable.EMPTY;
+            int constantCount = constantAt.size;
+            if (constantCount > 0) {
+                byte[] kinds = new byte[constantCount];
+                for (int i = 0; i < constantCount; i++) {
+                    kinds[i] = (byte) constantKinds.data[i];
+                }
+                table = new ConstantTable(constantAt.toArray(), kinds,
+                        Arrays.copyOf(constantValues, constantCount), constantCount);
+            }
+
+            opcodes.add(ops.toArray());
+            varIndices.add(vars.toArray());
+            jumpTargets.add(jumps.toArray());
+            labels.add(labelBits);
+            switchTargets.add(switches);
+            constants.add(table);
+            localIndices.add(locals.toArray());
+            localNames.add(localNameIds.toArray());
+            exceptionTables.add(exceptionTable);
+
+            InvokeDynamicInfo[] callSites = null;
+            if (invokeDynamicAt.size > 0) {
+                callSites = new InvokeDynamicInfo[ops.size];
+                for (int i = 0; i < invokeDynamicAt.size; i++) {
+                    callSites[invokeDynamicAt.data[i]] = invokeDynamicInfos.get(i);
+                }
+            }
+            refIndices.add(refs.toArray());
+            refTables.add(refTable.toArray());
+            invokeDynamics.add(callSites);
+        }
+    }
+
+    /**
+     * Growable int array.
+     */
+    private static final class Ints {
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        int[] toArray() {
+            return size == 0 ? CompactClass.NO_INTS : Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package BytecodeParser.Compact;
+
+import BytecodeParser.IField;
+import org.objectweb.asm.Opcodes;
+
+final class CompactField implements IField {
+
+    private final int nameId;
+    private final int access;
+
+    CompactField(int nameId, int access) {
+        this.nameId = nameId;
+        this.access = access;
+    }
+
+    @Override
+    public String getName() {
+        return CompactClass.name(nameId);
+    }
+
+    @Override
+    public int getNameId() {
+        return nameId;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return (access & Opcodes.ACC_STATIC) != 0;
+    }
+
+    @Override
+    public boolean isFinal() {
+        return (access & Opcodes.ACC_FINAL) != 0;
+    }
+
+    @Override
+    public boolean isPublic() {
+        return (access & Opcodes.ACC_PUBLIC) != 0;
+    }
+}
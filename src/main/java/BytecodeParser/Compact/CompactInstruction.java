@@ -0,0 +1,91 @@
+package BytecodeParser.Compact;
+
+import BytecodeParser.ConstantTable;
+import BytecodeParser.IInstruction;
+import BytecodeParser.ILabel;
+import BytecodeParser.InvokeDynamicInfo;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * View of one instruction of a CompactMethod.
+ */
+final class CompactInstruction implements IInstruction {
+
+    private final CompactMethod method;
+    private final int index;
+
+    CompactInstruction(CompactMethod method, int index) {
+        this.method = method;
+        this.index = index;
+    }
+
+    @Override
+    public int getOpcode() {
+        return method.getOpcodeArray()[index];
+    }
+
+    @Override
+    public ILabel getJumpLabel() {
+        int target = getJumpTargetIndex();
+        if (target >= 0) {
+            return method.getLabelAt(target);
+        }
+        return method.getLabelAt(index);
+    }
+
+    @Override
+    public int getJumpTargetIndex() {
+        return method.getJumpTargetArray()[index];
+    }
+
+    @Override
+    public boolean isPushConstant() {
+        return getOpcode() == Opcodes.LDC || method.getConstantTable().findEntry(index) >= 0;
+    }
+
+    @Override
+    public Number getConstantValue() {
+        ConstantTable constants = method.getConstantTable();
+        int entry = constants.findEntry(index);
+        return entry < 0 ? null : constants.getValue(entry);
+    }
+
+    @Override
+    public Integer getVarIndex() {
+        int opcode = getOpcode();
+        if (opcode == Opcodes.IINC) {
+            return null;
+        }
+        int var = method.getVarIndexArray()[index];
+        return var < 0 ? null : var;
+    }
+
+    @Override
+    public String getOwner() {
+        return name(method.ownerId(index));
+    }
+
+    @Override
+    public String getMemberName() {
+        return name(method.memberNameId(index));
+    }
+
+    @Override
+    public String getMemberDescriptor() {
+        return name(method.memberDescriptorId(index));
+    }
+
+    @Override
+    public String getTypeOperand() {
+        return name(method.typeId(index));
+    }
+
+    @Override
+    public InvokeDynamicInfo getInvokeDynamic() {
+        return method.invokeDynamic(index);
+    }
+
+    private static String name(int symbolId) {
+        return symbolId < 0 ? null : CompactClass.name(symbolId);
+    }
+}
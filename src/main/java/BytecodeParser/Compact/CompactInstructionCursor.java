@@ -0,0 +1,100 @@
+package BytecodeParser.Compact;
+
+import BytecodeParser.ConstantTable;
+import BytecodeParser.IInstructionCursor;
+
+/**
+ * Walks the arrays of a CompactMethod. The constant table is consumed in
+ * step with the cursor, so no lookup is needed per position.
+ */
+final class CompactInstructionCursor implements IInstructionCursor {
+
+    private final CompactMethod method;
+    private final int[] opcodes;
+    private final int[] varIndices;
+    private final int[] jumpTargets;
+    private final ConstantTable constants;
+
+    private int index = -1;
+    private int nextEntry;
+    private int entry = -1;
+
+    CompactInstructionCursor(CompactMethod method) {
+        this.method = method;
+        this.opcodes = method.getOpcodeArray();
+        this.varIndices = method.getVarIndexArray();
+        this.jumpTargets = method.getJumpTargetArray();
+        this.constants = method.getConstantTable();
+    }
+
+    @Override
+    public boolean next() {
+        if (index + 1 >= opcodes.length) {
+            index = opcodes.length;
+            entry = -1;
+            return false;
+        }
+        index++;
+        if (nextEntry < constants.size() && constants.getInstructionIndex(nextEntry) == index) {
+            entry = nextEntry++;
+        } else {
+            entry = -1;
+        }
+        return true;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public int getOpcode() {
+        return opcodes[index];
+    }
+
+    @Override
+    public int getVarIndex() {
+        return varIndices[index];
+    }
+
+    @Override
+    public int getJumpTargetIndex() {
+        return jumpTargets[index];
+    }
+
+    @Override
+    public int getConstantKind() {
+        return entry < 0 ? ConstantTable.NONE : constants.getKind(entry);
+    }
+
+    @Override
+    public long getLongValue() {
+        return entry < 0 ? 0 : constants.getLong(entry);
+    }
+
+    @Override
+    public double getDoubleValue() {
+        return entry < 0 ? 0 : constants.getDouble(entry);
+    }
+
+    @Override
+    public int getOwnerId() {
+        return method.ownerId(index);
+    }
+
+    @Override
+    public int getMemberNameId() {
+        return method.memberNameId(index);
+    }
+
+    @Override
+    public int getMemberDescriptorId() {
+        return method.memberDescriptorId(index);
+    }
+
+    @Override
+    public int getTypeId() {
+        return method.typeId(index);
+    }
+}
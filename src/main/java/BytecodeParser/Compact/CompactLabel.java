@@ -0,0 +1,10 @@
+package BytecodeParser.Compact;
+
+import BytecodeParser.ILabel;
+
+/**
+ * Label of a CompactMethod. One instance exists per label position, so
+ * labels compare by identity.
+ */
+final class CompactLabel implements ILabel {
+}
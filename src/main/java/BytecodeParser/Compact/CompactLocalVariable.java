@@ -0,0 +1,24 @@
+package BytecodeParser.Compact;
+
+import BytecodeParser.ILocalVariable;
+
+final class CompactLocalVariable implements ILocalVariable {
+
+    private final String name;
+    private final int index;
+
+    CompactLocalVariable(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+}
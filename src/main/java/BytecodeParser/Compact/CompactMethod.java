@@ -0,0 +1,251 @@
+package BytecodeParser.Compact;
+
+import BytecodeParser.ASM.ASMDataflow;
+import BytecodeParser.ConstantTable;
+import BytecodeParser.ControlFlowGraph;
+import BytecodeParser.IDataflow;
+import BytecodeParser.IInstruction;
+import BytecodeParser.IInstructionCursor;
+import BytecodeParser.ILocalVariable;
+import BytecodeParser.IMethod;
+import BytecodeParser.InvokeDynamicInfo;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * View of one method of a CompactClass. Holds no data of its own besides
+ * the memoized List views, which are only built when asked for.
+ */
+final class CompactMethod implements IMethod {
+
+    private final CompactClass owner;
+    private final int index;
+
+    private volatile List<IInstruction> instructions;
+    private volatile List<Integer> opcodes;
+    private volatile List<ILocalVariable> localVariables;
+    private volatile CompactLabel[] labelViews;
+    private volatile ControlFlowGraph controlFlowGraph;
+    private volatile IDataflow dataflow;
+
+    CompactMethod(CompactClass owner, int index) {
+        this.owner = owner;
+        this.index = index;
+    }
+
+    @Override
+    public String getName() {
+        return CompactClass.name(owner.methodNames[index]);
+    }
+
+    @Override
+    public int getNameId() {
+        return owner.methodNames[index];
+    }
+
+    @Override
+    public String getDescriptor() {
+        return CompactClass.name(owner.methodDescriptors[index]);
+    }
+
+    @Override
+    public int getDescriptorId() {
+        return owner.methodDescriptors[index];
+    }
+
+    @Override
+    public int getParameterCount() {
+        return Type.getArgumentTypes(getDescriptor()).length;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return (owner.methodAccess[index] & Opcodes.ACC_STATIC) != 0;
+    }
+
+    @Override
+    public List<IInstruction> getInstructions() {
+        List<IInstruction> result = instructions;
+        if (result == null) {
+            synchronized (this) {
+                result = instructions;
+                if (result == null) {
+                    int size = getOpcodeArray().length;
+                    List<IInstruction> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(new CompactInstruction(this, i));
+                    }
+                    instructions = result = Collections.unmodifiableList(list);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Integer> getOpcodes() {
+        List<Integer> result = opcodes;
+        if (result == null) {
+            synchronized (this) {
+                result = opcodes;
+                if (result == null) {
+                    int[] array = getOpcodeArray();
+                    List<Integer> list = new ArrayList<>(array.length);
+                    for (int opcode : array) {
+                        list.add(opcode);
+                    }
+                    opcodes = result = Collections.unmodifiableList(list);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<ILocalVariable> getLocalVariables() {
+        List<ILocalVariable> result = localVariables;
+        if (result == null) {
+            synchronized (this) {
+                result = localVariables;
+                if (result == null) {
+                    int[] indices = owner.localIndices[index];
+                    int[] names = owner.localNames[index];
+                    List<ILocalVariable> list = new ArrayList<>(indices.length);
+                    for (int i = 0; i < indices.length; i++) {
+                        list.add(new CompactLocalVariable(CompactClass.name(names[i]), indices[i]));
+                    }
+                    localVariables = result = Collections.unmodifiableList(list);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int[] getOpcodeArray() {
+        return owner.opcodes[index];
+    }
+
+    @Override
+    public int[] getVarIndexArray() {
+        return owner.varIndices[index];
+    }
+
+    @Override
+    public ConstantTable getConstantTable() {
+        return owner.constants[index];
+    }
+
+    @Override
+    public int[] getJumpTargetArray() {
+        return owner.jumpTargets[index];
+    }
+
+    @Override
+    public int[] getSwitchTargets(int instructionIndex) {
+        int[][] targets = owner.switchTargets[index];
+        return targets == null ? null : targets[instructionIndex];
+    }
+
+    @Override
+    public int[] getExceptionTable() {
+        return owner.exceptionTables[index];
+    }
+
+    @Override
+    public ControlFlowGraph getControlFlowGraph() {
+        ControlFlowGraph result = controlFlowGraph;
+        if (result == null) {
+            synchronized (this) {
+                result = controlFlowGraph;
+                if (result == null) {
+                    controlFlowGraph = result = ControlFlowGraph.build(this);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The arrays do not keep the operands a frame analysis needs (LDC
+     * constants, array dimensions, catch types), so the analysis runs on
+     * the method re-read through the class's ClassFileSource. Only the
+     * result is kept.
+     */
+    @Override
+    public IDataflow getDataflow() {
+        IDataflow result = dataflow;
+        if (result == null) {
+            synchronized (this) {
+                result = dataflow;
+                if (result == null) {
+                    dataflow = result = ASMDataflow.analyze(owner.getClassName(), owner.body(index));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public IInstructionCursor cursor() {
+        return new CompactInstructionCursor(this);
+    }
+
+    int ownerId(int instructionIndex) {
+        int ref = owner.refIndices[index][instructionIndex];
+        int[] table = owner.refTables[index];
+        return ref >= 0 && table[ref + 1] >= 0 ? table[ref] : -1;
+    }
+
+    int typeId(int instructionIndex) {
+        int ref = owner.refIndices[index][instructionIndex];
+        int[] table = owner.refTables[index];
+        return ref >= 0 && table[ref + 1] < 0 ? table[ref] : -1;
+    }
+
+    int memberNameId(int instructionIndex) {
+        int ref = owner.refIndices[index][instructionIndex];
+        return ref >= 0 ? owner.refTables[index][ref + 1] : -1;
+    }
+
+    int memberDescriptorId(int instructionIndex) {
+        int ref = owner.refIndices[index][instructionIndex];
+        return ref >= 0 ? owner.refTables[index][ref + 2] : -1;
+    }
+
+    InvokeDynamicInfo invokeDynamic(int instructionIndex) {
+        InvokeDynamicInfo[] callSites = owner.invokeDynamics[index];
+        return callSites == null ? null : callSites[instructionIndex];
+    }
+
+    boolean isLabel(int instructionIndex) {
+        return owner.labels[index].get(instructionIndex);
+    }
+
+    /**
+     * @return the shared label object at a label position, or null.
+     */
+    CompactLabel getLabelAt(int instructionIndex) {
+        if (!isLabel(instructionIndex)) {
+            return null;
+        }
+        CompactLabel[] result = labelViews;
+        if (result == null) {
+            synchronized (this) {
+                result = labelViews;
+                if (result == null) {
+                    CompactLabel[] views = new CompactLabel[getOpcodeArray().length];
+                    for (int i = owner.labels[index].nextSetBit(0); i >= 0; i = owner.labels[index].nextSetBit(i + 1)) {
+                        views[i] = new CompactLabel();
+                    }
+                    labelViews = result = views;
+                }
+            }
+        }
+        return result[instructionIndex];
+    }
+}
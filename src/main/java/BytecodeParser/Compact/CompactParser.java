@@ -0,0 +1,80 @@
+package BytecodeParser.Compact;
+
+import BytecodeParser.ASM.ASMParser;
+import BytecodeParser.ClassBytes;
+import BytecodeParser.ClassFileSource;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.IClass;
+import BytecodeParser.IClassParser;
+import org.objectweb.asm.ClassReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+/**
+ * IClassParser that produces CompactClass models. ASM's ClassReader reads
+ * the class file; CompactDecoder turns its events into flat arrays, so no
+ * ClassNode or instruction objects are created. Each thread keeps one
+ * decoder and reuses it for every class it parses.
+ *
+ * The model keeps no class bytes. Dataflow analysis, which needs operands
+ * the arrays leave out, re-reads the class through a ClassFileSource:
+ * the class path for classes parsed by name, or the source the caller
+ * passes with the bytes. Classes parsed from bytes alone cannot be
+ * analyzed.
+ */
+public final class CompactParser implements IClassParser {
+
+    private static final ThreadLocal<CompactDecoder> DECODERS = ThreadLocal.withInitial(CompactDecoder::new);
+
+    @Override
+    public IClass parse(String className) throws IOException {
+        return parse(className, DataRequirement.defaults());
+    }
+
+    @Override
+    public IClass parse(String className, Set<DataRequirement> requirements) throws IOException {
+        return decode(new ClassReader(readFromClassPath(className)), requirements,
+                () -> readFromClassPath(className));
+    }
+
+    @Override
+    public IClass parse(byte[] classFile, Set<DataRequirement> requirements) {
+        return decode(new ClassReader(classFile), requirements, null);
+    }
+
+    @Override
+    public IClass parse(byte[] classFile, Set<DataRequirement> requirements, ClassFileSource source) {
+        return decode(new ClassReader(classFile), requirements, source);
+    }
+
+    @Override
+    public IClass parse(ByteBuffer classFile, Set<DataRequirement> requirements, ClassFileSource source) {
+        return decode(new ClassReader(ClassBytes.toArray(classFile)), requirements, source);
+    }
+
+    private static CompactClass decode(ClassReader reader, Set<DataRequirement> requirements,
+                                       ClassFileSource source) {
+        CompactDecoder decoder = DECODERS.get();
+        try {
+            return decoder.decode(reader, ASMParser.readerFlags(requirements), source);
+        } finally {
+            decoder.reset();
+        }
+    }
+
+    /**
+     * Reads a class the way ClassReader(String) does, through the system
+     * class loader.
+     */
+    private static byte[] readFromClassPath(String className) throws IOException {
+        try (InputStream in = ClassLoader.getSystemResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (in == null) {
+                throw new IOException("Class not found");
+            }
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package BytecodeParser;
+
+/**
+ * The numeric constants a method pushes, stored in flat primitive arrays.
+ * Entry i describes the constant pushed by instruction getInstructionIndex(i);
+ * entries are in instruction order. Integral values are read with getLong,
+ * floating-point values with getDouble, so nothing is boxed.
+ */
+public final class ConstantTable {
+
+    public static final int NONE = -1;
+    public static final int INT = 0;
+    public static final int LONG = 1;
+    public static final int FLOAT = 2;
+    public static final int DOUBLE = 3;
+
+    public static final ConstantTable EMPTY = new ConstantTable(new int[0], new byte[0], new long[0], 0);
+
+    private final int[] instructionIndices;
+    private final byte[] kinds;
+    private final long[] values;
+    private final int size;
+
+    /**
+     * @param values integral values as-is, floating-point values as
+     *               Double.doubleToRawLongBits
+     */
+    public ConstantTable(int[] instructionIndices, byte[] kinds, long[] values, int size) {
+        this.instructionIndices = instructionIndices;
+        this.kinds = kinds;
+        this.values = values;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the entry for the given instruction, or -1 if it pushes no
+     *         number.
+     */
+    public int findEntry(int instructionIndex) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int index = instructionIndices[mid];
+            if (index < instructionIndex) {
+                lo = mid + 1;
+            } else if (index > instructionIndex) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public int getInstructionIndex(int entry) {
+        return instructionIndices[entry];
+    }
+
+    public int getKind(int entry) {
+        return kinds[entry];
+    }
+
+    public boolean isIntegral(int entry) {
+        return kinds[entry] == INT || kinds[entry] == LONG;
+    }
+
+    public long getLong(int entry) {
+        return isIntegral(entry) ? values[entry] : (long) Double.longBitsToDouble(values[entry]);
+    }
+
+    public double getDouble(int entry) {
+        return isIntegral(entry) ? values[entry] : Double.longBitsToDouble(values[entry]);
+    }
+
+    /**
+     * Boxes the entry with its original type, e.g. for reporting.
+     */
+    public Number getValue(int entry) {
+        switch (kinds[entry]) {
+            case INT:    return (int) values[entry];
+            case LONG:   return values[entry];
+            case FLOAT:  return (float) Double.longBitsToDouble(values[entry]);
+            default:     return Double.longBitsToDouble(values[entry]);
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package BytecodeParser;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Control-flow graph of one method body, over the instruction indices of
+ * IMethod.getInstructions(). Basic blocks are half-open index ranges;
+ * edges, dominators and loops are stored as int arrays of block indices.
+ * Block 0 is the entry block.
+ *
+ * Normal edges follow fall-through, jumps and switches. Exception edges
+ * go from every block inside a try range to its handler block; they are
+ * kept apart from normal edges but both kinds count for dominators and
+ * loops. Obtain one through IMethod.getControlFlowGraph(), which builds
+ * it once per method; arrays returned here are shared and must not be
+ * modified.
+ */
+public final class ControlFlowGraph {
+
+    private static final int[] NONE = new int[0];
+
+    private final int[] blockStarts;   // blockCount + 1 entries; the last is the instruction count
+    private final int[] blockOf;
+    private final int[][] successors;
+    private final int[][] predecessors;
+    private final int[][] exceptionSuccessors;
+    private final int[][] exceptionPredecessors;
+    private final int[] immediateDominators;
+    private final int[] loopHeaders;
+    private final int[][] loopBlocks;
+    private final int[] loopDepths;
+
+    private ControlFlowGraph(int[] blockStarts, int[] blockOf,
+                             int[][] successors, int[][] exceptionSuccessors) {
+        this.blockStarts = blockStarts;
+        this.blockOf = blockOf;
+        this.successors = successors;
+        this.exceptionSuccessors = exceptionSuccessors;
+        this.predecessors = invert(successors);
+        this.exceptionPredecessors = invert(exceptionSuccessors);
+
+        int blockCount = successors.length;
+        int[] order = blockCount == 0 ? NONE : reversePostorder();
+        int[] orderIndex = new int[blockCount];
+        Arrays.fill(orderIndex, -1);
+        for (int i = 0; i < order.length; i++) {
+            orderIndex[order[i]] = i;
+        }
+        this.immediateDominators = computeDominators(order, orderIndex);
+
+        BitSet[] bodies = new BitSet[blockCount];
+        int[] work = new int[blockCount];
+        int loopCount = 0;
+        for (int b = 0; b < blockCount; b++) {
+            if (!isReachable(b)) {
+                continue;
+            }
+            loopCount += addBackEdges(b, successors[b], orderIndex, bodies, work);
+            loopCount += addBackEdges(b, exceptionSuccessors[b], orderIndex, bodies, work);
+        }
+
+        loopHeaders = new int[loopCount];
+        loopBlocks = new int[loopCount][];
+        loopDepths = new int[blockCount];
+        int loop = 0;
+        for (int header = 0; header < blockCount; header++) {
+            if (bodies[header] == null) {
+                continue;
+            }
+            loopHeaders[loop] = header;
+            loopBlocks[loop] = bodies[header].stream().toArray();
+            for (int b : loopBlocks[loop]) {
+                loopDepths[b]++;
+            }
+            loop++;
+        }
+    }
+
+    /**
+     * Builds the graph from the primitive arrays of the method.
+     */
+    public static ControlFlowGraph build(IMethod method) {
+        int[] opcodes = method.getOpcodeArray();
+        int[] jumpTargets = method.getJumpTargetArray();
+        int[] exceptionTable = method.getExceptionTable();
+        int size = opcodes.length;
+
+        BitSet leaders = new BitSet(size);
+        if (size > 0) {
+            leaders.set(0);
+        }
+        for (int i = 0; i < size; i++) {
+            if (jumpTargets[i] >= 0) {
+                leaders.set(jumpTargets[i]);
+            }
+            int[] switchTargets = method.getSwitchTargets(i);
+            if (switchTargets != null) {
+                for (int target : switchTargets) {
+                    leaders.set(target);
+                }
+            }
+            if (endsBlock(opcodes[i]) && i + 1 < size) {
+                leaders.set(i + 1);
+            }
+        }
+        // Try ranges start and end on block boundaries, so each block is
+        // either wholly inside a range or wholly outside it.
+        for (int e = 0; e < exceptionTable.length; e += 3) {
+            leaders.set(exceptionTable[e]);
+            if (exceptionTable[e + 1] < size) {
+                leaders.set(exceptionTable[e + 1]);
+            }
+            leaders.set(exceptionTable[e + 2]);
+        }
+
+        int blockCount = leaders.cardinality();
+        int[] blockStarts = new int[blockCount + 1];
+        int[] blockOf = new int[size];
+        int block = -1;
+        for (int i = 0; i < size; i++) {
+            if (leaders.get(i)) {
+                blockStarts[++block] = i;
+            }
+            blockOf[i] = block;
+        }
+        blockStarts[blockCount] = size;
+
+        int[][] successors = new int[blockCount][];
+        int[][] exceptionSuccessors = new int[blockCount][];
+        int[] edges = new int[8];
+        for (int b = 0; b < blockCount; b++) {
+            int count = 0;
+            int last = lastInstruction(opcodes, blockStarts[b], blockStarts[b + 1]);
+            int opcode = last < 0 ? -1 : opcodes[last];
+            boolean next = b + 1 < blockCount;
+
+            int[] switchTargets = last < 0 ? null : method.getSwitchTargets(last);
+            if (switchTargets != null) {
+                for (int target : switchTargets) {
+                    edges = grow(edges, count);
+                    count = addEdge(edges, count, blockOf[target]);
+                }
+            } else if (opcode == IOpcodes.GOTO) {
+                count = addEdge(edges, count, blockOf[jumpTargets[last]]);
+            } else if (!isExit(opcode)) {
+                if (next) {
+                    count = addEdge(edges, count, b + 1);
+                }
+                if (last >= 0 && jumpTargets[last] >= 0) {
+                    count = addEdge(edges, count, blockOf[jumpTargets[last]]);
+                }
+            }
+            successors[b] = count == 0 ? NONE : Arrays.copyOf(edges, count);
+
+            count = 0;
+            int start = blockStarts[b];
+            for (int e = 0; e < exceptionTable.length; e += 3) {
+                if (exceptionTable[e] <= start && start < exceptionTable[e + 1]) {
+                    edges = grow(edges, count);
+                    count = addEdge(edges, count, blockOf[exceptionTable[e + 2]]);
+                }
+            }
+            exceptionSuccessors[b] = count == 0 ? NONE : Arrays.copyOf(edges, count);
+        }
+
+        return new ControlFlowGraph(blockStarts, blockOf, successors, exceptionSuccessors);
+    }
+
+    public int getBlockCount() {
+        return successors.length;
+    }
+
+    /**
+     * @return the index of the first instruction of the block
+     */
+    public int getBlockStart(int block) {
+        return blockStarts[block];
+    }
+
+    /**
+     * @return the index just past the last instruction of the block
+     */
+    public int getBlockEnd(int block) {
+        return blockStarts[block + 1];
+    }
+
+    /**
+     * @return the block containing the instruction
+     */
+    public int getBlockOf(int instructionIndex) {
+        return blockOf[instructionIndex];
+    }
+
+    /**
+     * @return the blocks control can pass to from the end of the block,
+     *         without duplicates
+     */
+    public int[] getSuccessors(int block) {
+        return successors[block];
+    }
+
+    public int[] getPredecessors(int block) {
+        return predecessors[block];
+    }
+
+    /**
+     * @return the handler blocks of the try ranges covering the block
+     */
+    public int[] getExceptionSuccessors(int block) {
+        return exceptionSuccessors[block];
+    }
+
+    /**
+     * @return the blocks whose exceptions may be handled by the block
+     */
+    public int[] getExceptionPredecessors(int block) {
+        return exceptionPredecessors[block];
+    }
+
+    /**
+     * @return false if the block cannot be reached from the entry block
+     */
+    public boolean isReachable(int block) {
+        return block == 0 || immediateDominators[block] >= 0;
+    }
+
+    /**
+     * @return the immediate dominator of the block, or -1 for the entry
+     *         block and unreachable blocks
+     */
+    public int getImmediateDominator(int block) {
+        return block == 0 ? -1 : immediateDominators[block];
+    }
+
+    /**
+     * @return true if every path from the entry to b passes through a.
+     *         A block dominates itself.
+     */
+    public boolean dominates(int a, int b) {
+        if (!isReachable(b)) {
+            return false;
+        }
+        for (int block = b; block >= 0; block = getImmediateDominator(block)) {
+            if (block == a) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of natural loops. Back edges sharing a header
+     *         form a single loop.
+     */
+    public int getLoopCount() {
+        return loopHeaders.length;
+    }
+
+    public int getLoopHeader(int loop) {
+        return loopHeaders[loop];
+    }
+
+    /**
+     * @return the blocks of the loop in ascending order, header included
+     */
+    public int[] getLoopBlocks(int loop) {
+        return loopBlocks[loop];
+    }
+
+    /**
+     * @return the number of loops containing the block; 0 outside loops
+     */
+    public int getLoopDepth(int block) {
+        return loopDepths[block];
+    }
+
+    /**
+     * Iterative dominator algorithm of Cooper, Harvey and Kennedy over the
+     * reverse postorder of both edge kinds.
+     *
+     * @param order      the reachable blocks in reverse postorder
+     * @param orderIndex each block's position in order, -1 if unreachable
+     */
+    private int[] computeDominators(int[] order, int[] orderIndex) {
+        int blockCount = successors.length;
+        int[] dominators = new int[blockCount];
+        Arrays.fill(dominators, -1);
+        if (blockCount == 0) {
+            return dominators;
+        }
+
+        dominators[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < order.length; i++) {
+                int block = order[i];
+                int dominator = -1;
+                dominator = meet(dominator, predecessors[block], dominators, orderIndex);
+                dominator = meet(dominator, exceptionPredecessors[block], dominators, orderIndex);
+                if (dominators[block] != dominator) {
+                    dominators[block] = dominator;
+                    changed = true;
+                }
+            }
+        }
+        return dominators;
+    }
+
+    private static int meet(int dominator, int[] preds, int[] dominators, int[] orderIndex) {
+        for (int pred : preds) {
+            if (dominators[pred] < 0) {
+                continue; // unreachable or not processed yet
+            }
+            dominator = dominator < 0 ? pred : intersect(pred, dominator, dominators, orderIndex);
+        }
+        return dominator;
+    }
+
+    private static int intersect(int a, int b, int[] dominators, int[] orderIndex) {
+        while (a != b) {
+            while (orderIndex[a] > orderIndex[b]) {
+                a = dominators[a];
+            }
+            while (orderIndex[b] > orderIndex[a]) {
+                b = dominators[b];
+            }
+        }
+        return a;
+    }
+
+    /**
+     * @return the blocks reachable from the entry, in reverse postorder
+     */
+    private int[] reversePostorder() {
+        int blockCount = successors.length;
+        int[] postorder = new int[blockCount];
+        int count = 0;
+        boolean[] visited = new boolean[blockCount];
+        int[] stack = new int[blockCount];
+        int[] nextEdge = new int[blockCount];
+        int depth = 0;
+        stack[depth++] = 0;
+        visited[0] = true;
+        while (depth > 0) {
+            int block = stack[depth - 1];
+            int edge = nextEdge[block]++;
+            int normal = successors[block].length;
+            if (edge < normal + exceptionSuccessors[block].length) {
+                int target = edge < normal ? successors[block][edge] : exceptionSuccessors[block][edge - normal];
+                if (!visited[target]) {
+                    visited[target] = true;
+                    stack[depth++] = target;
+                }
+            } else {
+                postorder[count++] = block;
+                depth--;
+            }
+        }
+
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = postorder[count - 1 - i];
+        }
+        return order;
+    }
+
+    /**
+     * Adds the natural loop of every back edge from the block to bodies,
+     * indexed by header. A header dominates its latch and so comes no
+     * later in reverse postorder; edges to later blocks are skipped
+     * without walking the dominator tree.
+     *
+     * @param work scratch stack for the loop walk, one slot per block
+     * @return the number of headers seen for the first time
+     */
+    private int addBackEdges(int block, int[] targets, int[] orderIndex, BitSet[] bodies, int[] work) {
+        int newLoops = 0;
+        for (int header : targets) {
+            if (orderIndex[header] > orderIndex[block] || !dominates(header, block)) {
+                continue;
+            }
+            BitSet body = bodies[header];
+            if (body == null) {
+                bodies[header] = body = new BitSet();
+                body.set(header);
+                newLoops++;
+            }
+            // Walk backwards from the latch; the header stops the walk.
+            int size = 0;
+            if (!body.get(block)) {
+                body.set(block);
+                work[size++] = block;
+            }
+            while (size > 0) {
+                int current = work[--size];
+                size = pushUnvisited(predecessors[current], body, work, size);
+                size = pushUnvisited(exceptionPredecessors[current], body, work, size);
+            }
+        }
+        return newLoops;
+    }
+
+    private int pushUnvisited(int[] preds, BitSet body, int[] work, int size) {
+        for (int pred : preds) {
+            if (!body.get(pred) && isReachable(pred)) {
+                body.set(pred);
+                work[size++] = pred;
+            }
+        }
+        return size;
+    }
+
+    private static int[][] invert(int[][] edges) {
+        int blockCount = edges.length;
+        int[] counts = new int[blockCount];
+        for (int[] targets : edges) {
+            for (int target : targets) {
+                counts[target]++;
+            }
+        }
+        int[][] inverse = new int[blockCount][];
+        for (int b = 0; b < blockCount; b++) {
+            inverse[b] = counts[b] == 0 ? NONE : new int[counts[b]];
+            counts[b] = 0;
+        }
+        for (int b = 0; b < blockCount; b++) {
+            for (int target : edges[b]) {
+                inverse[target][counts[target]++] = b;
+            }
+        }
+        return inverse;
+    }
+
+    /**
+     * @return the last real instruction in [start, end), skipping labels,
+     *         line numbers and frames, or -1 if there is none
+     */
+    private static int lastInstruction(int[] opcodes, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (opcodes[i] >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean endsBlock(int opcode) {
+        return (opcode >= IOpcodes.IFEQ && opcode <= IOpcodes.LOOKUPSWITCH) // jumps, switches, RET
+                || isExit(opcode)
+                || opcode == IOpcodes.IFNULL
+                || opcode == IOpcodes.IFNONNULL;
+    }
+
+    /**
+     * @return true for instructions with no successor in the method
+     */
+    private static boolean isExit(int opcode) {
+        return (opcode >= IOpcodes.IRETURN && opcode <= IOpcodes.RETURN)
+                || opcode == IOpcodes.ATHROW
+                || opcode == IOpcodes.RET;
+    }
+
+    private static int addEdge(int[] edges, int count, int target) {
+        for (int i = 0; i < count; i++) {
+            if (edges[i] == target) {
+                return count;
+            }
+        }
+        edges[count] = target;
+        return count + 1;
+    }
+
+    private static int[] grow(int[] edges, int count) {
+        return count < edges.length ? edges : Arrays.copyOf(edges, count * 2);
+    }
+}
@@ -0,0 +1,32 @@
+package BytecodeParser;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Parts of a class file a consumer needs beyond the class header and the
+ * method/field declarations, which are always available. Parsers skip
+ * whatever is not requested.
+ */
+public enum DataRequirement {
+    /** Method bodies (instructions). */
+    CODE,
+    /** Local-variable tables; implies CODE. */
+    LOCAL_VARIABLES,
+    /** Stack map frames, expanded; implies CODE. */
+    FRAMES;
+
+    /**
+     * @return everything the IClass model exposes: code and local variables.
+     */
+    public static Set<DataRequirement> defaults() {
+        return EnumSet.of(CODE, LOCAL_VARIABLES);
+    }
+
+    /**
+     * @return only the class header and member declarations.
+     */
+    public static Set<DataRequirement> headerOnly() {
+        return EnumSet.noneOf(DataRequirement.class);
+    }
+}
@@ -0,0 +1,69 @@
+package BytecodeParser;
+
+import java.util.List;
+
+/**
+ * A dynamically-computed constant (CONSTANT_Dynamic): its name and
+ * descriptor, the bootstrap method that computes it, and that method's
+ * static arguments, which take the same forms as InvokeDynamicInfo's.
+ */
+public final class DynamicConstant {
+
+    private final int nameId;
+    private final int descriptorId;
+    private final MemberRef bootstrapMethod;
+    private final List<Object> bootstrapArguments;
+
+    public DynamicConstant(int nameId, int descriptorId, MemberRef bootstrapMethod,
+                           List<Object> bootstrapArguments) {
+        this.nameId = nameId;
+        this.descriptorId = descriptorId;
+        this.bootstrapMethod = bootstrapMethod;
+        this.bootstrapArguments = List.copyOf(bootstrapArguments);
+    }
+
+    public int getNameId() {
+        return nameId;
+    }
+
+    public int getDescriptorId() {
+        return descriptorId;
+    }
+
+    public String getName() {
+        return SymbolTable.global().name(nameId);
+    }
+
+    public String getDescriptor() {
+        return SymbolTable.global().name(descriptorId);
+    }
+
+    public MemberRef getBootstrapMethod() {
+        return bootstrapMethod;
+    }
+
+    public List<Object> getBootstrapArguments() {
+        return bootstrapArguments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DynamicConstant)) return false;
+        DynamicConstant other = (DynamicConstant) o;
+        return nameId == other.nameId && descriptorId == other.descriptorId
+                && bootstrapMethod.equals(other.bootstrapMethod)
+                && bootstrapArguments.equals(other.bootstrapArguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return ((nameId * 31 + descriptorId) * 31 + bootstrapMethod.hashCode()) * 31
+                + bootstrapArguments.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getName() + ":" + getDescriptor() + " via " + bootstrapMethod;
+    }
+}
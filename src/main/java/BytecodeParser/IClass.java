@@ -2,10 +2,22 @@ package BytecodeParser;
 
 import java.util.List;
 
-public interface IClass {
-	String getClassName();
+public interface IClass extends IClassHeader {
     List<IMethod> getMethods();
     List<IField> getFields();
-	List<String> getDirectInterfaces();
-    String getSuperClassName();
+
+    /**
+     * Replays this class to the listener in the same order a streaming
+     * parser would produce the events.
+     */
+    default void accept(IClassListener listener) {
+        listener.visitClass(getClassName(), getSuperClassName(), getDirectInterfaces());
+        for (IField field : getFields()) {
+            listener.visitField(field);
+        }
+        for (IMethod method : getMethods()) {
+            listener.visitMethod(method);
+        }
+        listener.visitEnd();
+    }
 }
@@ -0,0 +1,21 @@
+package BytecodeParser;
+
+import java.util.List;
+
+/**
+ * The part of a class file needed to walk the type hierarchy: the class's
+ * own name, its superclass and its directly implemented interfaces. Names
+ * are in internal form, e.g. "java/lang/Object".
+ */
+public interface IClassHeader {
+    String getClassName();
+    String getSuperClassName();
+    List<String> getDirectInterfaces();
+
+    /**
+     * @return the SymbolTable id of getClassName()
+     */
+    default int getClassNameId() {
+        return SymbolTable.global().intern(getClassName());
+    }
+}
@@ -0,0 +1,23 @@
+package BytecodeParser;
+
+import java.util.List;
+
+/**
+ * Receives the contents of a class as a single stream of events.
+ * Events arrive in class-file order: the class header first, then every
+ * field, then every method (with its code already decoded), then visitEnd.
+ */
+public interface IClassListener {
+
+    default void visitClass(String className, String superClassName, List<String> interfaces) {
+    }
+
+    default void visitField(IField field) {
+    }
+
+    default void visitMethod(IMethod method) {
+    }
+
+    default void visitEnd() {
+    }
+}
@@ -1,7 +1,93 @@
 package BytecodeParser;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Set;
 
 public interface IClassParser {
     IClass parse(String className) throws IOException;
+
+    /**
+     * Parses only the requested parts of the class. The default ignores
+     * the requirements and parses everything.
+     */
+    default IClass parse(String className, Set<DataRequirement> requirements) throws IOException {
+        return parse(className);
+    }
+
+    /**
+     * Reads just the class header - name, superclass and interfaces -
+     * without visiting members. Used for hierarchy walks. The default
+     * falls back to a header-only parse.
+     */
+    default IClassHeader parseHeader(String className) throws IOException {
+        return parse(className, DataRequirement.headerOnly());
+    }
+
+    default IClassHeader parseHeader(byte[] classFile) throws IOException {
+        return parse(classFile, DataRequirement.headerOnly());
+    }
+
+    /**
+     * Parses the contents of a class file.
+     */
+    IClass parse(byte[] classFile, Set<DataRequirement> requirements) throws IOException;
+
+    default IClass parse(Path classFile, Set<DataRequirement> requirements) throws IOException {
+        return parse(ClassBytes.read(classFile), requirements);
+    }
+
+    default IClass parse(ByteBuffer classFile, Set<DataRequirement> requirements) throws IOException {
+        return parse(ClassBytes.toArray(classFile), requirements);
+    }
+
+    /**
+     * Parses the contents of a class file that source can read again.
+     * Backends whose models drop data some queries need may re-read the
+     * class through source instead of keeping the bytes. The default
+     * ignores source.
+     */
+    default IClass parse(byte[] classFile, Set<DataRequirement> requirements,
+                         ClassFileSource source) throws IOException {
+        return parse(classFile, requirements);
+    }
+
+    default IClass parse(ByteBuffer classFile, Set<DataRequirement> requirements,
+                         ClassFileSource source) throws IOException {
+        return parse(classFile, requirements);
+    }
+
+    /**
+     * Reads the summary of a class file without parsing it. Backends that
+     * already hold the summary data may override the default.
+     */
+    default ClassSummary summarize(ByteBuffer classFile) {
+        return ClassSummary.read(classFile);
+    }
+
+    /**
+     * Reads the class once and streams its contents to the listener.
+     * Implementations that can do this without building a class model
+     * should override the default, which parses and replays.
+     */
+    default void scan(String className, Set<DataRequirement> requirements,
+                      IClassListener listener) throws IOException {
+        parse(className, requirements).accept(listener);
+    }
+
+    default void scan(byte[] classFile, Set<DataRequirement> requirements,
+                      IClassListener listener) throws IOException {
+        parse(classFile, requirements).accept(listener);
+    }
+
+    default void scan(Path classFile, Set<DataRequirement> requirements,
+                      IClassListener listener) throws IOException {
+        scan(ClassBytes.read(classFile), requirements, listener);
+    }
+
+    default void scan(ByteBuffer classFile, Set<DataRequirement> requirements,
+                      IClassListener listener) throws IOException {
+        scan(ClassBytes.toArray(classFile), requirements, listener);
+    }
 }
@@ -0,0 +1,64 @@
+package BytecodeParser;
+
+/**
+ * Results of abstract interpretation of one method body, indexed like
+ * IMethod.getInstructions(). Values describe the state just before the
+ * instruction executes.
+ *
+ * Types are given as descriptors ("I", "Ljava/lang/String;", "[J"). A
+ * reference type is exact where every path agrees; where paths disagree
+ * it widens to "Ljava/lang/Object;". Null means the slot holds no usable
+ * value (unset local, second half of a long or double, merge conflict).
+ *
+ * Local-variable def-use chains link each instruction that reads a local
+ * (loads, IINC, RET) to the stores that may have produced the value. The
+ * value a local holds on entry (this, or a parameter) is reported as -1.
+ * Obtain one through IMethod.getDataflow(); arrays returned here are
+ * shared and must not be modified.
+ */
+public interface IDataflow {
+
+    /**
+     * @return false for instructions no path from the entry reaches
+     */
+    boolean isReachable(int instructionIndex);
+
+    /**
+     * @return the number of values on the operand stack; longs and
+     *         doubles count once. 0 for unreachable instructions.
+     */
+    int getStackSize(int instructionIndex);
+
+    /**
+     * @param depth 0 for the top of the stack
+     */
+    String getStackType(int instructionIndex, int depth);
+
+    String getLocalType(int instructionIndex, int local);
+
+    /**
+     * @return the type of the object an instance call or field access
+     *         operates on, or null for any other instruction
+     */
+    String getReceiverType(int instructionIndex);
+
+    /**
+     * @param depth 0 for the top of the stack
+     * @return the instructions that may have pushed the value
+     */
+    int[] getStackSources(int instructionIndex, int depth);
+
+    /**
+     * @return the stores that may define the local read by the
+     *         instruction, -1 standing for the entry value; empty if the
+     *         instruction reads no local
+     */
+    int[] getReachingDefinitions(int instructionIndex);
+
+    /**
+     * @return the instructions that may read the value stored by the
+     *         instruction; empty for a dead store or an instruction that
+     *         writes no local
+     */
+    int[] getUses(int instructionIndex);
+}
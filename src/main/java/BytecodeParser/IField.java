@@ -5,4 +5,11 @@ public interface IField {
     boolean isStatic();
     boolean isFinal();
     boolean isPublic();
+
+    /**
+     * @return the SymbolTable id of getName()
+     */
+    default int getNameId() {
+        return SymbolTable.global().intern(getName());
+    }
 }
@@ -6,4 +6,40 @@ public interface IInstruction {
 	boolean isPushConstant();
 	Number getConstantValue();
     Integer getVarIndex();
+
+    /**
+     * @return the instruction index this jump goes to, or -1 if this is
+     *         not a jump.
+     */
+    int getJumpTargetIndex();
+
+    /**
+     * @return the owning class of a field or method instruction
+     *         (GETFIELD .. INVOKEINTERFACE), or null. Strings returned by
+     *         the operand getters are canonical SymbolTable instances.
+     */
+    String getOwner();
+
+    /**
+     * @return the member name of a field, method or invokedynamic
+     *         instruction, or null.
+     */
+    String getMemberName();
+
+    /**
+     * @return the member descriptor of a field, method or invokedynamic
+     *         instruction, or null.
+     */
+    String getMemberDescriptor();
+
+    /**
+     * @return the type operand of NEW, ANEWARRAY, CHECKCAST, INSTANCEOF
+     *         (internal name) or MULTIANEWARRAY (descriptor), or null.
+     */
+    String getTypeOperand();
+
+    /**
+     * @return the call site of an INVOKEDYNAMIC instruction, or null.
+     */
+    InvokeDynamicInfo getInvokeDynamic();
 }
@@ -0,0 +1,70 @@
+package BytecodeParser;
+
+/**
+ * Forward-only view over a method's instructions. One cursor object is
+ * reused for every position, so a scan allocates nothing per instruction:
+ *
+ *     IInstructionCursor cursor = method.cursor();
+ *     while (cursor.next()) {
+ *         int opcode = cursor.getOpcode();
+ *         ...
+ *     }
+ *
+ * Indices match getInstructions() and the IMethod primitive arrays.
+ */
+public interface IInstructionCursor {
+
+    /**
+     * Moves to the next instruction.
+     * @return false once the end of the method has been reached.
+     */
+    boolean next();
+
+    int getIndex();
+
+    int getOpcode();
+
+    /**
+     * @return the local-variable operand, or -1 if there is none.
+     */
+    int getVarIndex();
+
+    /**
+     * @return the instruction index this jump goes to, or -1.
+     */
+    int getJumpTargetIndex();
+
+    /**
+     * @return the ConstantTable kind of the pushed number, or
+     *         ConstantTable.NONE if this instruction pushes no number.
+     */
+    int getConstantKind();
+
+    long getLongValue();
+
+    double getDoubleValue();
+
+    /**
+     * @return the SymbolTable id of the owner of a field or method
+     *         instruction, or -1.
+     */
+    int getOwnerId();
+
+    /**
+     * @return the SymbolTable id of the member name of a field, method or
+     *         invokedynamic instruction, or -1.
+     */
+    int getMemberNameId();
+
+    /**
+     * @return the SymbolTable id of the member descriptor of a field,
+     *         method or invokedynamic instruction, or -1.
+     */
+    int getMemberDescriptorId();
+
+    /**
+     * @return the SymbolTable id of the type operand of NEW, ANEWARRAY,
+     *         CHECKCAST, INSTANCEOF or MULTIANEWARRAY, or -1.
+     */
+    int getTypeId();
+}
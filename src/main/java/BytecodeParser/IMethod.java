@@ -10,4 +10,77 @@ public interface IMethod {
 	List<ILocalVariable> getLocalVariables();
     String getDescriptor();
     boolean isStatic();
+
+    /**
+     * @return the SymbolTable id of getName(); compare against constants
+     *         such as SymbolTable.INIT instead of comparing strings.
+     */
+    default int getNameId() {
+        return SymbolTable.global().intern(getName());
+    }
+
+    /**
+     * @return the SymbolTable id of getDescriptor()
+     */
+    default int getDescriptorId() {
+        return SymbolTable.global().intern(getDescriptor());
+    }
+
+    /**
+     * @return the opcode of every instruction, in the same order as
+     *         getInstructions() (-1 for labels, line numbers and frames).
+     *         The array is shared and must not be modified.
+     */
+    int[] getOpcodeArray();
+
+    /**
+     * @return the local-variable operand of every instruction, or -1 when
+     *         the instruction has none. Shared; must not be modified.
+     */
+    int[] getVarIndexArray();
+
+    /**
+     * @return the numeric constants pushed by this method.
+     */
+    ConstantTable getConstantTable();
+
+    /**
+     * @return for every instruction, the index of its jump target in
+     *         getInstructions(), or -1 if it is not a jump. Switches are
+     *         reported through getSwitchTargets. Shared; must not be modified.
+     */
+    int[] getJumpTargetArray();
+
+    /**
+     * @return the default target followed by the case targets of the
+     *         switch at the given index, or null if it is not a switch.
+     */
+    int[] getSwitchTargets(int instructionIndex);
+
+    /**
+     * @return the method's try/catch blocks as (start, end, handler)
+     *         triples of instruction indices, end exclusive, in class-file
+     *         order. Shared; must not be modified.
+     */
+    int[] getExceptionTable();
+
+    /**
+     * @return the control-flow graph of the method, built on first use and
+     *         shared by every caller afterwards.
+     */
+    ControlFlowGraph getControlFlowGraph();
+
+    /**
+     * @return frame types and def-use chains of the method, computed on
+     *         first use and shared by every caller afterwards
+     * @throws IllegalStateException         if the method's code does not verify
+     * @throws UnsupportedOperationException if the model cannot get back to
+     *         the code it needs
+     */
+    IDataflow getDataflow();
+
+    /**
+     * @return a new cursor positioned before the first instruction.
+     */
+    IInstructionCursor cursor();
 }
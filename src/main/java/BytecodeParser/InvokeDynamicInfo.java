@@ -0,0 +1,74 @@
+package BytecodeParser;
+
+import java.util.List;
+
+/**
+ * Operands of an INVOKEDYNAMIC instruction: the call site's name and
+ * descriptor, the bootstrap method, and its static arguments.
+ *
+ * Bootstrap arguments are Integer, Long, Float, Double or String values as
+ * in the class file; class and method-type constants are given as
+ * TypeConstants, so they are never mistaken for a String with the same
+ * text, method handles as MemberRefs, and dynamically computed constants
+ * as DynamicConstants.
+ */
+public final class InvokeDynamicInfo {
+
+    private final int nameId;
+    private final int descriptorId;
+    private final MemberRef bootstrapMethod;
+    private final List<Object> bootstrapArguments;
+
+    public InvokeDynamicInfo(int nameId, int descriptorId, MemberRef bootstrapMethod,
+                             List<Object> bootstrapArguments) {
+        this.nameId = nameId;
+        this.descriptorId = descriptorId;
+        this.bootstrapMethod = bootstrapMethod;
+        this.bootstrapArguments = List.copyOf(bootstrapArguments);
+    }
+
+    public int getNameId() {
+        return nameId;
+    }
+
+    public int getDescriptorId() {
+        return descriptorId;
+    }
+
+    public String getName() {
+        return SymbolTable.global().name(nameId);
+    }
+
+    public String getDescriptor() {
+        return SymbolTable.global().name(descriptorId);
+    }
+
+    public MemberRef getBootstrapMethod() {
+        return bootstrapMethod;
+    }
+
+    public List<Object> getBootstrapArguments() {
+        return bootstrapArguments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InvokeDynamicInfo)) return false;
+        InvokeDynamicInfo other = (InvokeDynamicInfo) o;
+        return nameId == other.nameId && descriptorId == other.descriptorId
+                && bootstrapMethod.equals(other.bootstrapMethod)
+                && bootstrapArguments.equals(other.bootstrapArguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return ((nameId * 31 + descriptorId) * 31 + bootstrapMethod.hashCode()) * 31
+                + bootstrapArguments.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getName() + getDescriptor() + " via " + bootstrapMethod;
+    }
+}
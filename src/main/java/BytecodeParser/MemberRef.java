@@ -0,0 +1,65 @@
+package BytecodeParser;
+
+/**
+ * A method or field reference: owner, name and descriptor, held as
+ * SymbolTable ids. The string getters return the canonical instances.
+ */
+public final class MemberRef {
+
+    private final int ownerId;
+    private final int nameId;
+    private final int descriptorId;
+
+    public MemberRef(int ownerId, int nameId, int descriptorId) {
+        this.ownerId = ownerId;
+        this.nameId = nameId;
+        this.descriptorId = descriptorId;
+    }
+
+    public static MemberRef of(String owner, String name, String descriptor) {
+        SymbolTable symbols = SymbolTable.global();
+        return new MemberRef(symbols.intern(owner), symbols.intern(name), symbols.intern(descriptor));
+    }
+
+    public int getOwnerId() {
+        return ownerId;
+    }
+
+    public int getNameId() {
+        return nameId;
+    }
+
+    public int getDescriptorId() {
+        return descriptorId;
+    }
+
+    public String getOwner() {
+        return SymbolTable.global().name(ownerId);
+    }
+
+    public String getName() {
+        return SymbolTable.global().name(nameId);
+    }
+
+    public String getDescriptor() {
+        return SymbolTable.global().name(descriptorId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MemberRef)) return false;
+        MemberRef other = (MemberRef) o;
+        return ownerId == other.ownerId && nameId == other.nameId && descriptorId == other.descriptorId;
+    }
+
+    @Override
+    public int hashCode() {
+        return (ownerId * 31 + nameId) * 31 + descriptorId;
+    }
+
+    @Override
+    public String toString() {
+        return getOwner() + "." + getName() + getDescriptor();
+    }
+}
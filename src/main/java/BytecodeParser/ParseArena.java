@@ -0,0 +1,134 @@
+package BytecodeParser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Per-thread scratch space for reading class files. The read buffer grows
+ * to the largest class the thread has seen and is reused for every class
+ * after that, so reading a class allocates nothing in the steady state.
+ *
+ * Usage is one class at a time per thread:
+ *
+ *     ParseArena arena = ParseArena.current();
+ *     try {
+ *         parser.scan(arena.read(classFile), requirements, listener);
+ *     } finally {
+ *         arena.release();
+ *     }
+ *
+ * The returned buffer is only valid until release(); parsers that keep
+ * bytes beyond the call (lazy models) copy them. Each worker thread gets
+ * its own arena, so this works unchanged under parallel linting.
+ */
+public final class ParseArena {
+
+    private static final ThreadLocal<ParseArena> ARENAS = ThreadLocal.withInitial(ParseArena::new);
+
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+    // A buffer grown past this is dropped on release rather than kept for the thread's lifetime.
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024 * 1024;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private boolean inUse;
+
+    private ParseArena() {
+    }
+
+    /**
+     * @return the calling thread's arena
+     */
+    public static ParseArena current() {
+        return ARENAS.get();
+    }
+
+    /**
+     * Reads the whole file into the arena buffer.
+     *
+     * @return a heap buffer over the file's bytes, valid until release()
+     */
+    public ByteBuffer read(Path classFile) throws IOException {
+        acquire();
+        try (FileChannel channel = FileChannel.open(classFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Class file too large: " + classFile);
+            }
+            ensureCapacity((int) size);
+
+            ByteBuffer target = ByteBuffer.wrap(buffer, 0, (int) size);
+            while (target.hasRemaining()) {
+                if (channel.read(target) < 0) {
+                    throw new EOFException("Unexpected end of class file: " + classFile);
+                }
+            }
+            return ByteBuffer.wrap(buffer, 0, (int) size);
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the stream to its end into the arena buffer. Does not close it.
+     *
+     * @return a heap buffer over the bytes read, valid until release()
+     */
+    public ByteBuffer read(InputStream in) throws IOException {
+        acquire();
+        try {
+            int length = 0;
+            while (true) {
+                if (length == buffer.length) {
+                    ensureCapacity(length + 1);
+                }
+                int n = in.read(buffer, length, buffer.length - length);
+                if (n < 0) {
+                    return ByteBuffer.wrap(buffer, 0, length);
+                }
+                length += n;
+            }
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Hands the buffer back once every consumer of the current class is
+     * done with it.
+     */
+    public void release() {
+        inUse = false;
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    private void acquire() {
+        if (inUse) {
+            throw new IllegalStateException("ParseArena is already holding a class; release() it first");
+        }
+        inUse = true;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > buffer.length) {
+            int capacity = buffer.length;
+            while (capacity < size) {
+                capacity = capacity > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE - 8 : capacity * 2;
+            }
+            buffer = Arrays.copyOf(buffer, capacity);
+        }
+    }
+}
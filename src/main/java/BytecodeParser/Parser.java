@@ -1,6 +1,9 @@
 package BytecodeParser;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Set;
 
 public class Parser {
     private final IClassParser parser;
@@ -12,4 +15,62 @@ public class Parser {
     public IClass parse(String className) throws IOException {
         return parser.parse(className);
     }
-}
\ No newline at end of file
+
+    public IClass parse(String className, Set<DataRequirement> requirements) throws IOException {
+        return parser.parse(className, requirements);
+    }
+
+    public IClassHeader parseHeader(String className) throws IOException {
+        return parser.parseHeader(className);
+    }
+
+    public IClassHeader parseHeader(byte[] classFile) throws IOException {
+        return parser.parseHeader(classFile);
+    }
+
+    public IClass parse(Path classFile, Set<DataRequirement> requirements) throws IOException {
+        return parser.parse(classFile, requirements);
+    }
+
+    public IClass parse(byte[] classFile, Set<DataRequirement> requirements) throws IOException {
+        return parser.parse(classFile, requirements);
+    }
+
+    public IClass parse(ByteBuffer classFile, Set<DataRequirement> requirements) throws IOException {
+        return parser.parse(classFile, requirements);
+    }
+
+    public IClass parse(byte[] classFile, Set<DataRequirement> requirements,
+                        ClassFileSource source) throws IOException {
+        return parser.parse(classFile, requirements, source);
+    }
+
+    public IClass parse(ByteBuffer classFile, Set<DataRequirement> requirements,
+                        ClassFileSource source) throws IOException {
+        return parser.parse(classFile, requirements, source);
+    }
+
+    public ClassSummary summarize(ByteBuffer classFile) {
+        return parser.summarize(classFile);
+    }
+
+    public void scan(String className, Set<DataRequirement> requirements,
+                     IClassListener listener) throws IOException {
+        parser.scan(className, requirements, listener);
+    }
+
+    public void scan(Path classFile, Set<DataRequirement> requirements,
+                     IClassListener listener) throws IOException {
+        parser.scan(classFile, requirements, listener);
+    }
+
+    public void scan(byte[] classFile, Set<DataRequirement> requirements,
+                     IClassListener listener) throws IOException {
+        parser.scan(classFile, requirements, listener);
+    }
+
+    public void scan(ByteBuffer classFile, Set<DataRequirement> requirements,
+                     IClassListener listener) throws IOException {
+        parser.scan(classFile, requirements, listener);
+    }
+}
@@ -0,0 +1,105 @@
+package BytecodeParser;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Run-wide table of class, member and descriptor names. Every distinct
+ * name gets one int id and one canonical String, so models can share name
+ * storage across classes and checks can compare names as ints:
+ *
+ *     if (method.getNameId() == SymbolTable.INIT) ...
+ *
+ * Well-known names are registered first and have fixed ids. Safe to use
+ * from many threads; ids are never reused or removed.
+ */
+public final class SymbolTable {
+
+    public static final int INIT = 0;
+    public static final int CLINIT = 1;
+    public static final int JAVA_LANG_OBJECT = 2;
+    public static final int JAVA_LANG_STRING = 3;
+    public static final int VOID_DESCRIPTOR = 4;
+    public static final int MAIN = 5;
+    public static final int TO_STRING = 6;
+    public static final int EQUALS = 7;
+    public static final int HASH_CODE = 8;
+    public static final int VALUE_OF = 9;
+
+    private static final String[] WELL_KNOWN = {
+            "<init>", "<clinit>", "java/lang/Object", "java/lang/String", "()V",
+            "main", "toString", "equals", "hashCode", "valueOf"
+    };
+
+    private static final SymbolTable GLOBAL = new SymbolTable();
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[1024];
+    private int size;
+
+    private SymbolTable() {
+        for (String name : WELL_KNOWN) {
+            intern(name);
+        }
+    }
+
+    /**
+     * @return the table shared by every parser and model in this process
+     */
+    public static SymbolTable global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @return the id of the name, registering it on first use
+     */
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(name);
+            if (id == null) {
+                id = size;
+                String[] table = names;
+                if (id == table.length) {
+                    table = Arrays.copyOf(table, id * 2);
+                }
+                table[id] = name;
+                names = table;
+                size++;
+                // Published after the name is stored, so any id a reader can see resolves.
+                ids.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * @return the canonical string for an id returned by intern
+     */
+    public String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * @return the canonical instance equal to the given name
+     */
+    public String canonical(String name) {
+        return name(intern(name));
+    }
+
+    /**
+     * @return the id of the name, or -1 if it was never interned
+     */
+    public int find(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,58 @@
+package BytecodeParser;
+
+/**
+ * A class or method-type constant (CONSTANT_Class, CONSTANT_MethodType):
+ * a descriptor held as a SymbolTable id, and which of the two it is. Kept
+ * apart from String constants, which may have the same text.
+ */
+public final class TypeConstant {
+
+    public enum Sort {
+        /** A class, interface or array type, e.g. "Ljava/lang/String;" or "[I". */
+        CLASS,
+        /** A method type, e.g. "(I)V". */
+        METHOD_TYPE
+    }
+
+    private final int descriptorId;
+    private final Sort sort;
+
+    public TypeConstant(int descriptorId, Sort sort) {
+        this.descriptorId = descriptorId;
+        this.sort = sort;
+    }
+
+    public static TypeConstant of(String descriptor, Sort sort) {
+        return new TypeConstant(SymbolTable.global().intern(descriptor), sort);
+    }
+
+    public int getDescriptorId() {
+        return descriptorId;
+    }
+
+    public String getDescriptor() {
+        return SymbolTable.global().name(descriptorId);
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TypeConstant)) return false;
+        TypeConstant other = (TypeConstant) o;
+        return descriptorId == other.descriptorId && sort == other.sort;
+    }
+
+    @Override
+    public int hashCode() {
+        return descriptorId * 31 + sort.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getDescriptor();
+    }
+}
@@ -0,0 +1,128 @@
+package BytecodeParser;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Run-wide cache of type hierarchy facts: each type's direct supertypes
+ * and the transitive set of interfaces it inherits. One instance is meant
+ * to be shared by every check and every class in a run, so the common
+ * supertypes (java/lang/Object, java/io/Serializable, framework bases) are
+ * read once instead of once per linted class.
+ *
+ * Safe to query from many threads. Each cache holds at most maxTypes
+ * entries; when full, an arbitrary entry is dropped to make room.
+ *
+ * When a TypeIndex is supplied, headers are looked up there before the
+ * parser reads a class file.
+ */
+public final class TypeHierarchy {
+
+    public static final int DEFAULT_MAX_TYPES = 4096;
+
+    private final IClassParser parser;
+    private final TypeIndex index;
+    private final int maxTypes;
+    private final Map<String, IClassHeader> headers = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> interfaceClosures = new ConcurrentHashMap<>();
+
+    public TypeHierarchy(IClassParser parser) {
+        this(parser, null, DEFAULT_MAX_TYPES);
+    }
+
+    public TypeHierarchy(IClassParser parser, int maxTypes) {
+        this(parser, null, maxTypes);
+    }
+
+    /**
+     * @param index prebuilt index to consult first, or null
+     */
+    public TypeHierarchy(IClassParser parser, TypeIndex index) {
+        this(parser, index, DEFAULT_MAX_TYPES);
+    }
+
+    public TypeHierarchy(IClassParser parser, TypeIndex index, int maxTypes) {
+        if (maxTypes < 1) {
+            throw new IllegalArgumentException("maxTypes must be positive: " + maxTypes);
+        }
+        this.parser = parser;
+        this.index = index;
+        this.maxTypes = maxTypes;
+    }
+
+    /**
+     * @param typeName internal name, e.g. "java/util/ArrayList"
+     * @return the type's header, read once and then served from the cache
+     */
+    public IClassHeader getHeader(String typeName) throws IOException {
+        IClassHeader header = headers.get(typeName);
+        if (header == null) {
+            header = index != null ? index.find(typeName) : null;
+            if (header == null) {
+                header = parser.parseHeader(typeName);
+            }
+            IClassHeader raced = putBounded(headers, typeName, header);
+            if (raced != null) {
+                header = raced;
+            }
+        }
+        return header;
+    }
+
+    public String getSuperClassName(String typeName) throws IOException {
+        return getHeader(typeName).getSuperClassName();
+    }
+
+    /**
+     * Every interface the type inherits, directly or through its
+     * superclasses and superinterfaces. A type is not part of its own
+     * closure.
+     *
+     * @return an unmodifiable set of internal names
+     */
+    public Set<String> getAllInterfaces(String typeName) throws IOException {
+        return allInterfaces(typeName, new HashSet<>());
+    }
+
+    private Set<String> allInterfaces(String typeName, Set<String> inProgress) throws IOException {
+        Set<String> closure = interfaceClosures.get(typeName);
+        if (closure != null) {
+            return closure;
+        }
+        if (!inProgress.add(typeName)) {
+            // Cyclic hierarchy in malformed input; stop here.
+            return Collections.emptySet();
+        }
+
+        IClassHeader header = getHeader(typeName);
+        Set<String> result = new LinkedHashSet<>();
+        for (String iface : header.getDirectInterfaces()) {
+            result.add(iface);
+            result.addAll(allInterfaces(iface, inProgress));
+        }
+        if (header.getSuperClassName() != null) {
+            result.addAll(allInterfaces(header.getSuperClassName(), inProgress));
+        }
+        inProgress.remove(typeName);
+
+        closure = Collections.unmodifiableSet(result);
+        Set<String> raced = putBounded(interfaceClosures, typeName, closure);
+        return raced != null ? raced : closure;
+    }
+
+    private <V> V putBounded(Map<String, V> cache, String key, V value) {
+        if (cache.size() >= maxTypes) {
+            Iterator<String> keys = cache.keySet().iterator();
+            if (keys.hasNext()) {
+                cache.remove(keys.next());
+            }
+        }
+        return cache.putIfAbsent(key, value);
+    }
+}
@@ -0,0 +1,187 @@
+package BytecodeParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only, memory-mapped index of type headers for the Java runtime and
+ * a set of library jars. Lets hierarchy walks answer questions about
+ * java.base and third-party supertypes without reading their class files.
+ *
+ * The file records a fingerprint of its inputs (runtime version and
+ * location, library paths, sizes and timestamps); openOrBuild rebuilds it
+ * only when that fingerprint changes. Lookups use absolute reads on the
+ * mapped buffer, so one instance can be shared by many threads.
+ *
+ * File layout, all ints big-endian:
+ * <pre>
+ *   header   magic, version, fingerprint (long), count, listsStart, stringsStart
+ *   entries  count x (name, superName or -1, interfaces), sorted by name bytes
+ *   lists    per type: n, then n string offsets
+ *   strings  unsigned short length + UTF-8 bytes
+ * </pre>
+ * Entry and list fields are offsets relative to the start of their section.
+ */
+public final class TypeIndex {
+
+    static final int MAGIC = 0x524C5449; // "RLTI"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 28;
+    static final int ENTRY_SIZE = 12;
+    static final int NONE = -1;
+
+    private final ByteBuffer data;
+    private final long fingerprint;
+    private final int count;
+    private final int listsStart;
+    private final int stringsStart;
+
+    private TypeIndex(ByteBuffer data) throws IOException {
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IOException("Not a type index or unsupported version");
+        }
+        this.data = data;
+        this.fingerprint = data.getLong(8);
+        this.count = data.getInt(16);
+        this.listsStart = data.getInt(20);
+        this.stringsStart = data.getInt(24);
+    }
+
+    /**
+     * Maps an existing index file.
+     */
+    public static TypeIndex open(Path indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            return new TypeIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Maps the index at indexFile, first (re)building it from the runtime
+     * image and the given libraries if it is missing, unreadable or was
+     * built from different inputs.
+     *
+     * @param libraries jars, zips or class directories; earlier entries win
+     *                  when a type is defined more than once
+     */
+    public static TypeIndex openOrBuild(Path indexFile, List<Path> libraries,
+                                        IClassParser parser) throws IOException {
+        long expected = TypeIndexBuilder.fingerprint(libraries);
+        if (Files.isRegularFile(indexFile)) {
+            try {
+                TypeIndex existing = open(indexFile);
+                if (existing.fingerprint == expected) {
+                    return existing;
+                }
+            } catch (IOException e) {
+                // Corrupt or outdated format; rebuild below.
+            }
+        }
+
+        new TypeIndexBuilder(parser).addRuntime().addLibraries(libraries).write(indexFile, expected);
+        return open(indexFile);
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param typeName internal name, e.g. "java/util/ArrayList"
+     * @return the type's header, or null if the index does not know it
+     */
+    public IClassHeader find(String typeName) {
+        byte[] key = typeName.getBytes(StandardCharsets.UTF_8);
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int entry = HEADER_SIZE + mid * ENTRY_SIZE;
+            int cmp = compare(data.getInt(entry), key);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return header(typeName, entry);
+            }
+        }
+        return null;
+    }
+
+    private IClassHeader header(String typeName, int entry) {
+        int superName = data.getInt(entry + 4);
+        int list = listsStart + data.getInt(entry + 8);
+
+        int n = data.getInt(list);
+        List<String> interfaces = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            interfaces.add(string(data.getInt(list + 4 + i * 4)));
+        }
+        return new Header(typeName, superName == NONE ? null : string(superName),
+                Collections.unmodifiableList(interfaces));
+    }
+
+    private int compare(int stringOffset, byte[] key) {
+        int pos = stringsStart + stringOffset;
+        int length = data.getShort(pos) & 0xFFFF;
+        pos += 2;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int diff = (data.get(pos + i) & 0xFF) - (key[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    private String string(int stringOffset) {
+        int pos = stringsStart + stringOffset;
+        int length = data.getShort(pos) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = data.get(pos + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Header implements IClassHeader {
+        private final String className;
+        private final String superClassName;
+        private final List<String> interfaces;
+
+        Header(String className, String superClassName, List<String> interfaces) {
+            this.className = className;
+            this.superClassName = superClassName;
+            this.interfaces = interfaces;
+        }
+
+        @Override
+        public String getClassName() {
+            return className;
+        }
+
+        @Override
+        public String getSuperClassName() {
+            return superClassName;
+        }
+
+        @Override
+        public List<String> getDirectInterfaces() {
+            return interfaces;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package BytecodeParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Collects type headers from the runtime image and library jars and
+ * writes them in the TypeIndex file format.
+ */
+final class TypeIndexBuilder {
+
+    private final IClassParser parser;
+    private final Map<String, IClassHeader> headers = new HashMap<>();
+
+    TypeIndexBuilder(IClassParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Adds every class of every module in the running JDK (jrt:/).
+     */
+    TypeIndexBuilder addRuntime() throws IOException {
+        FileSystem jrt;
+        try {
+            jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        } catch (ProviderNotFoundException e) {
+            return this; // Not a modular runtime; nothing to index.
+        }
+
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(jrt.getPath("/modules"))) {
+            classFiles = paths.filter(p -> isIndexable(p.toString())).collect(Collectors.toList());
+        }
+        for (Path classFile : classFiles) {
+            add(Files.readAllBytes(classFile));
+        }
+        return this;
+    }
+
+    TypeIndexBuilder addLibraries(List<Path> libraries) throws IOException {
+        for (Path library : libraries) {
+            if (Files.isDirectory(library)) {
+                for (Path classFile : classFilesIn(library)) {
+                    add(Files.readAllBytes(classFile));
+                }
+            } else {
+                try (ZipFile zip = new ZipFile(library.toFile())) {
+                    Enumeration<? extends ZipEntry> entries = zip.entries();
+                    while (entries.hasMoreElements()) {
+                        ZipEntry entry = entries.nextElement();
+                        if (entry.isDirectory() || entry.getName().startsWith("META-INF/")
+                                || !isIndexable(entry.getName())) {
+                            continue;
+                        }
+                        try (InputStream in = zip.getInputStream(entry)) {
+                            add(in.readAllBytes());
+                        }
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    private void add(byte[] classFile) throws IOException {
+        IClassHeader header = parser.parseHeader(classFile);
+        headers.putIfAbsent(header.getClassName(), header);
+    }
+
+    /**
+     * @return the indexable class files under a directory library, in path order
+     */
+    private static List<Path> classFilesIn(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(p -> isIndexable(p.toString())).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isIndexable(String name) {
+        return name.endsWith(".class")
+                && !name.endsWith("module-info.class")
+                && !name.endsWith("package-info.class");
+    }
+
+    /**
+     * Writes the index to a temporary file next to indexFile and moves it
+     * into place, so readers never see a partial index.
+     */
+    void write(Path indexFile, long fingerprint) throws IOException {
+        List<byte[]> names = new ArrayList<>(headers.size());
+        for (String name : headers.keySet()) {
+            names.add(name.getBytes(StandardCharsets.UTF_8));
+        }
+        names.sort(Arrays::compareUnsigned);
+
+        ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+        DataOutputStream strings = new DataOutputStream(stringBytes);
+        Map<String, Integer> stringOffsets = new HashMap<>();
+
+        ByteArrayOutputStream listBytes = new ByteArrayOutputStream();
+        DataOutputStream lists = new DataOutputStream(listBytes);
+
+        ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+        DataOutputStream entries = new DataOutputStream(entryBytes);
+
+        for (byte[] nameBytes : names) {
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            IClassHeader header = headers.get(name);
+
+            entries.writeInt(intern(name, stringOffsets, strings));
+            entries.writeInt(header.getSuperClassName() == null
+                    ? TypeIndex.NONE
+                    : intern(header.getSuperClassName(), stringOffsets, strings));
+            entries.writeInt(lists.size());
+
+            List<String> interfaces = header.getDirectInterfaces();
+            lists.writeInt(interfaces.size());
+            for (String iface : interfaces) {
+                lists.writeInt(intern(iface, stringOffsets, strings));
+            }
+        }
+
+        int listsStart = TypeIndex.HEADER_SIZE + entries.size();
+        int stringsStart = listsStart + lists.size();
+
+        Path parent = indexFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, indexFile.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+            out.writeInt(TypeIndex.MAGIC);
+            out.writeInt(TypeIndex.VERSION);
+            out.writeLong(fingerprint);
+            out.writeInt(names.size());
+            out.writeInt(listsStart);
+            out.writeInt(stringsStart);
+            entryBytes.writeTo(out);
+            listBytes.writeTo(out);
+            stringBytes.writeTo(out);
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static int intern(String value, Map<String, Integer> offsets,
+                              DataOutputStream strings) throws IOException {
+        Integer offset = offsets.get(value);
+        if (offset == null) {
+            offset = strings.size();
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            strings.writeShort(bytes.length);
+            strings.write(bytes);
+            offsets.put(value, offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Identifies the inputs an index was built from: the running JDK and
+     * each library's path, size and modification time. A directory's own
+     * size and time do not change when a class file deep inside it does,
+     * so a directory library is covered by the relative path, size and
+     * modification time of every class file it holds.
+     */
+    static long fingerprint(List<Path> libraries) throws IOException {
+        StringBuilder inputs = new StringBuilder()
+                .append(TypeIndex.VERSION).append('\n')
+                .append(System.getProperty("java.home")).append('\n')
+                .append(System.getProperty("java.runtime.version")).append('\n');
+        for (Path library : libraries) {
+            Path path = library.toAbsolutePath();
+            inputs.append(path).append('\n');
+            if (Files.isDirectory(path)) {
+                for (Path classFile : classFilesIn(path)) {
+                    inputs.append(path.relativize(classFile)).append(' ');
+                    appendSizeAndTime(inputs, classFile);
+                }
+            } else if (Files.exists(path)) {
+                appendSizeAndTime(inputs, path);
+            }
+        }
+
+        // 64-bit FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : inputs.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static void appendSizeAndTime(StringBuilder inputs, Path file) throws IOException {
+        inputs.append(Files.size(file)).append(' ')
+                .append(Files.getLastModifiedTime(file).toMillis()).append('\n');
+    }
+}
@@ -1,13 +1,33 @@
 package Checks;
 
+import BytecodeParser.ClassSummary;
+import BytecodeParser.DataRequirement;
 import BytecodeParser.IClass;
 import org.objectweb.asm.tree.ClassNode;
 import Reporting.Reporter;
 
+import java.util.Set;
+
 public interface Check {
     /**
      * @return true if the check ran successfully,
      *         false if the check had an internal error.
      */
     boolean apply(IClass classNode, Reporter reporter);
+
+    /**
+     * @return the class data this check reads. The parser skips anything
+     *         that none of the enabled checks asks for.
+     */
+    default Set<DataRequirement> requirements() {
+        return DataRequirement.defaults();
+    }
+
+    /**
+     * Precondition over the class summary. Returning false promises the
+     * check would report nothing for the class, so the linter may skip it.
+     */
+    default boolean appliesTo(ClassSummary summary) {
+        return true;
+    }
 }
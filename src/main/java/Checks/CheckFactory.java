@@ -1,6 +1,7 @@
 package Checks;
 
 import BytecodeParser.IClassParser;
+import BytecodeParser.TypeHierarchy;
 import java.util.List;
 
 import BytecodeParser.ASM.ASMParser;
@@ -8,11 +9,19 @@ import BytecodeParser.ASM.ASMParser;
 public class CheckFactory {
 
     private static final IClassParser asmParser = new ASMParser();
+    private static final TypeHierarchy typeHierarchy = new TypeHierarchy(asmParser);
 
     public static List<Check> createChecks() {
+        return createChecks(typeHierarchy);
+    }
+
+    /**
+     * @param typeHierarchy hierarchy cache shared by the checks that need one
+     */
+    public static List<Check> createChecks(TypeHierarchy typeHierarchy) {
         return List.of(
                 new TooManyNestedIfsCheck(),
-                new RedundantInterfacesCheck(asmParser),
+                new RedundantInterfacesCheck(typeHierarchy),
                 new PublicFieldCheck(),
                 new MagicNumberCheck(),
                 new TooManyParametersCheck(),
@@ -1,60 +1,58 @@
 package Checks;
 
-import BytecodeParser.IClass;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.DataRequirement;
 import BytecodeParser.IMethod;
-import BytecodeParser.IInstruction;
 import Reporting.Reporter;
 
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Flags methods that have empty bodies (no instructions).
  */
-public class EmptyMethodCheck implements Check {
+public class EmptyMethodCheck implements MethodCheck {
 
     @Override
-    public boolean apply(IClass clazz, Reporter reporter) {
-        try {
-            for (IMethod method : clazz.getMethods()) {
+    public Set<DataRequirement> requirements() {
+        return EnumSet.of(DataRequirement.CODE);
+    }
 
-                List<IInstruction> instructions = method.getInstructions();
+    @Override
+    public boolean appliesTo(ClassSummary summary) {
+        // Abstract methods count as empty bodies too, so any method qualifies.
+        return summary.getMethodCount() > 0;
+    }
 
-                if (instructions == null || instructions.isEmpty()) {
-                    reporter.report(
-                            clazz.getClassName(),
-                            "Method '" + method.getName() + "' has an empty body"
-                    );
-                }
-                else if (isOnlyReturn(instructions)) {
-                    reporter.report(
-                            clazz.getClassName(),
-                            "Method '" + method.getName() + "' only contains a return statement"
-                    );
-                }
-            }
-            return true;
+    @Override
+    public void checkMethod(String className, IMethod method, Reporter reporter) {
+        int[] opcodes = method.getOpcodeArray();
 
-        } catch (Exception e) {
+        if (opcodes.length == 0) {
             reporter.report(
-                    clazz.getClassName(),
-                    "EmptyMethodCheck failed: " + e.getMessage()
+                    className,
+                    "Method '" + method.getName() + "' has an empty body"
+            );
+        }
+        else if (isOnlyReturn(opcodes)) {
+            reporter.report(
+                    className,
+                    "Method '" + method.getName() + "' only contains a return statement"
             );
-            return false;
         }
     }
 
     /**
-     * Check if the instruction list contains only a return statement.
+     * Check if the method body contains only a return statement.
      */
-    private boolean isOnlyReturn(List<IInstruction> instructions) {
-        if (instructions.isEmpty()) {
+    private boolean isOnlyReturn(int[] opcodes) {
+        if (opcodes.length == 0) {
             return false;
         }
 
         int returnCount = 0;
 
-        for (IInstruction insn : instructions) {
-            int opcode = insn.getOpcode();
+        for (int opcode : opcodes) {
 
             // Count return instructions: IRETURN(172) .. RETURN(177)
             if (opcode >= 172 && opcode <= 177) {
@@ -1,52 +1,73 @@
 package Checks;
 
-import BytecodeParser.IClass;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.IClassListener;
 import BytecodeParser.IMethod;
 import BytecodeParser.IField;
 import Reporting.Reporter;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Detects "God Classes".
  * A God Class is one that has too many methods or fields, indicating its
  * trying to do too much and should be refactored into smaller classes.
  */
-public class GodClassCheck implements Check {
+public class GodClassCheck implements StreamingCheck {
 
     private final static int maxMethods = 20;
     private final static int maxFields = 10;
 
     @Override
-    public boolean apply(IClass classNode, Reporter reporter) {
-        try {
-            List<IMethod> methods = classNode.getMethods();
-            List<IField> fields = classNode.getFields();
-
-            int methodCount = methods.size();
-            int fieldCount = fields.size();
-
-            if (methodCount > maxMethods) {
-                reporter.report(
-                        classNode.getClassName(),
-                        "Class has " + methodCount + " methods (max allowed: " + maxMethods + ") - possible God Class"
-                );
+    public Set<DataRequirement> requirements() {
+        return DataRequirement.headerOnly();
+    }
+
+    @Override
+    public boolean appliesTo(ClassSummary summary) {
+        return summary.getMethodCount() > maxMethods || summary.getFieldCount() > maxFields;
+    }
+
+    @Override
+    public IClassListener createListener(Reporter reporter) {
+        return new IClassListener() {
+            private String className;
+            private int methodCount;
+            private int fieldCount;
+
+            @Override
+            public void visitClass(String name, String superClassName, List<String> interfaces) {
+                className = name;
+            }
+
+            @Override
+            public void visitField(IField field) {
+                fieldCount++;
             }
 
-            if (fieldCount > maxFields) {
-                reporter.report(
-                        classNode.getClassName(),
-                        "Class has " + fieldCount + " fields (max allowed: " + maxFields + ") - possible God Class"
-                );
+            @Override
+            public void visitMethod(IMethod method) {
+                methodCount++;
             }
 
-            return true;
-        } catch (Exception e) {
-            reporter.report(
-                    classNode.getClassName(),
-                    "GodClassCheck failed: " + e.getMessage()
-            );
-            return false;
-        }
+            @Override
+            public void visitEnd() {
+                if (methodCount > maxMethods) {
+                    reporter.report(
+                            className,
+                            "Class has " + methodCount + " methods (max allowed: " + maxMethods + ") - possible God Class"
+                    );
+                }
+
+                if (fieldCount > maxFields) {
+                    reporter.report(
+                            className,
+                            "Class has " + fieldCount + " fields (max allowed: " + maxFields + ") - possible God Class"
+                    );
+                }
+            }
+        };
     }
 }
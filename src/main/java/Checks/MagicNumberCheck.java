@@ -1,65 +1,56 @@
 package Checks;
 
-import BytecodeParser.IClass;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.ConstantTable;
+import BytecodeParser.DataRequirement;
 import BytecodeParser.IMethod;
-import BytecodeParser.IInstruction;
 import Reporting.Reporter;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
  * Flags magic numbers inside methods.
  */
-public class MagicNumberCheck implements Check {
+public class MagicNumberCheck implements MethodCheck {
 
-    // Allowed "non-magic" numbers
-    private static final Set<Number> ALLOWED = new HashSet<>(Arrays.asList(
-        -1, 0, 1
-    ));
+    // Allowed "non-magic" numbers: int constants -1, 0 and 1
+    private static final int MIN_ALLOWED = -1;
+    private static final int MAX_ALLOWED = 1;
 
     @Override
-    public boolean apply(IClass clazz, Reporter reporter) {
-        try {
-            List<IMethod> methods = clazz.getMethods();
-            if (methods == null) return true;
+    public Set<DataRequirement> requirements() {
+        return EnumSet.of(DataRequirement.CODE);
+    }
 
-            for (IMethod method : methods) {
-                List<IInstruction> instructions = method.getInstructions();
-                if (instructions == null) continue;
+    @Override
+    public boolean appliesTo(ClassSummary summary) {
+        return summary.has(ClassSummary.HAS_NON_TRIVIAL_CONSTANTS);
+    }
 
-                for (IInstruction insn : instructions) {
-                    Number value = decodeConstant(insn);
-                    if (value != null && !isAllowed(value)) {
-                        reporter.report(
-                                clazz.getClassName(),
-                                "Magic number " + value + " found in method " + method.getName()
-                        );
-                    }
-                }
+    @Override
+    public void checkMethod(String className, IMethod method, Reporter reporter) {
+        ConstantTable constants = method.getConstantTable();
+
+        for (int i = 0; i < constants.size(); i++) {
+            if (!isAllowed(constants, i)) {
+                reporter.report(
+                        className,
+                        "Magic number " + constants.getValue(i) + " found in method " + method.getName()
+                );
             }
-
-            return true;
-        } catch (Exception e) {
-            reporter.report(clazz.getClassName(),
-                    "MagicNumberCheck failed: " + e.getMessage());
-            return false;
         }
     }
 
-    private boolean isAllowed(Number n) {
-        return ALLOWED.contains(n);
-    }
-
     /**
-     * Tries to decode the instruction to a numeric constant if applicable.
+     * Only int constants are allowed; long, float and double pushes are
+     * always reported.
      */
-    private Number decodeConstant(IInstruction insn) {
-        if (insn.isPushConstant()) {
-            return insn.getConstantValue();
+    private boolean isAllowed(ConstantTable constants, int entry) {
+        if (constants.getKind(entry) != ConstantTable.INT) {
+            return false;
         }
-        return null;
+        long value = constants.getLong(entry);
+        return value >= MIN_ALLOWED && value <= MAX_ALLOWED;
     }
 }
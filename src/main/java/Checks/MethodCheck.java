@@ -0,0 +1,37 @@
+package Checks;
+
+import BytecodeParser.IClassListener;
+import BytecodeParser.IMethod;
+import Reporting.Reporter;
+
+import java.util.List;
+
+/**
+ * A streaming check whose findings for a method depend on that method
+ * alone. The linter may check the methods of one class on several threads
+ * at once, so checkMethod must not keep state between calls.
+ */
+public interface MethodCheck extends StreamingCheck {
+
+    /**
+     * Reports the findings for one method of the class.
+     */
+    void checkMethod(String className, IMethod method, Reporter reporter);
+
+    @Override
+    default IClassListener createListener(Reporter reporter) {
+        return new IClassListener() {
+            private String className;
+
+            @Override
+            public void visitClass(String name, String superClassName, List<String> interfaces) {
+                className = name;
+            }
+
+            @Override
+            public void visitMethod(IMethod method) {
+                checkMethod(className, method, reporter);
+            }
+        };
+    }
+}
@@ -1,30 +1,56 @@
 package Checks;
 
-import BytecodeParser.IClass;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.IClassListener;
 import BytecodeParser.IField;
 import BytecodeParser.IMethod;
+import BytecodeParser.SymbolTable;
 import Reporting.Reporter;
 
-public class NamingConventionCheck implements Check {
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class NamingConventionCheck implements StreamingCheck {
 
     @Override
-    public boolean apply(IClass classNode, Reporter reporter) {
-        try {
-            checkClassName(classNode, reporter);
-            checkMethodNames(classNode, reporter);
-            checkFieldNames(classNode, reporter);
-            return true;
-        } catch (Exception e) {
-            reporter.report(
-                    classNode.getClassName(),
-                    "NamingConventionCheck failed: " + e.getMessage()
-            );
-            return false;
-        }
+    public Set<DataRequirement> requirements() {
+        return DataRequirement.headerOnly();
+    }
+
+    @Override
+    public IClassListener createListener(Reporter reporter) {
+        return new IClassListener() {
+            private String className;
+            // Fields arrive before methods; keep reporting them after methods.
+            private final List<IField> fields = new ArrayList<>();
+
+            @Override
+            public void visitClass(String name, String superClassName, List<String> interfaces) {
+                className = name;
+                checkClassName(className, reporter);
+            }
+
+            @Override
+            public void visitField(IField field) {
+                fields.add(field);
+            }
+
+            @Override
+            public void visitMethod(IMethod method) {
+                checkMethodName(className, method, reporter);
+            }
+
+            @Override
+            public void visitEnd() {
+                for (IField field : fields) {
+                    checkFieldName(className, field, reporter);
+                }
+            }
+        };
     }
 
-    private void checkClassName(IClass classNode, Reporter reporter) {
-        String fullName = classNode.getClassName();
+    private void checkClassName(String fullName, Reporter reporter) {
         String simpleName = fullName.substring(fullName.lastIndexOf('/') + 1);
 
         if (simpleName.contains("$")) {
@@ -33,46 +59,44 @@ public class NamingConventionCheck implements Check {
 
         if (!isPascalCase(simpleName)) {
             reporter.report(
-                    classNode.getClassName(),
+                    fullName,
                     "Class name '" + simpleName + "' does not follow PascalCase convention"
             );
         }
     }
 
-    private void checkMethodNames(IClass classNode, Reporter reporter) {
-        for (IMethod method : classNode.getMethods()) {
-            String name = method.getName();
-            // Skip constructors
-            if (name.equals("<init>") || name.equals("<clinit>")) continue;
+    private void checkMethodName(String className, IMethod method, Reporter reporter) {
+        // Skip constructors
+        int nameId = method.getNameId();
+        if (nameId == SymbolTable.INIT || nameId == SymbolTable.CLINIT) return;
 
-            if (!isCamelCase(name)) {
-                reporter.report(
-                        classNode.getClassName(),
-                        "Method name '" + name + "' does not follow camelCase convention"
-                );
-            }
+        String name = method.getName();
+
+        if (!isCamelCase(name)) {
+            reporter.report(
+                    className,
+                    "Method name '" + name + "' does not follow camelCase convention"
+            );
         }
     }
 
-    private void checkFieldNames(IClass classNode, Reporter reporter) {
-        for (IField field : classNode.getFields()) {
-            boolean isConstant = field.isStatic() && field.isFinal();
-            String name = field.getName();
-
-            if (isConstant) {
-                if (!isUpperSnakeCase(name)) {
-                    reporter.report(
-                            classNode.getClassName(),
-                            "Constant field '" + name + "' does not follow UPPER_SNAKE_CASE convention"
-                    );
-                }
-            } else {
-                if (!isCamelCase(name)) {
-                    reporter.report(
-                            classNode.getClassName(),
-                            "Field name '" + name + "' does not follow camelCase convention"
-                    );
-                }
+    private void checkFieldName(String className, IField field, Reporter reporter) {
+        boolean isConstant = field.isStatic() && field.isFinal();
+        String name = field.getName();
+
+        if (isConstant) {
+            if (!isUpperSnakeCase(name)) {
+                reporter.report(
+                        className,
+                        "Constant field '" + name + "' does not follow UPPER_SNAKE_CASE convention"
+                );
+            }
+        } else {
+            if (!isCamelCase(name)) {
+                reporter.report(
+                        className,
+                        "Field name '" + name + "' does not follow camelCase convention"
+                );
             }
         }
     }
@@ -1,41 +1,48 @@
 package Checks;
 
-import BytecodeParser.IClass;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.IClassListener;
 import BytecodeParser.IField;
 import Reporting.Reporter;
-import org.objectweb.asm.Opcodes;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Flags fields that are declared public.
  */
-public class PublicFieldCheck implements Check {
+public class PublicFieldCheck implements StreamingCheck {
 
     @Override
-    public boolean apply(IClass clazz, Reporter reporter) {
-        try {
-            List<IField> fields = clazz.getFields();
-            if (fields == null || fields.isEmpty()) {
-                return true;
+    public Set<DataRequirement> requirements() {
+        return DataRequirement.headerOnly();
+    }
+
+    @Override
+    public boolean appliesTo(ClassSummary summary) {
+        return summary.has(ClassSummary.HAS_PUBLIC_FIELDS);
+    }
+
+    @Override
+    public IClassListener createListener(Reporter reporter) {
+        return new IClassListener() {
+            private String className;
+
+            @Override
+            public void visitClass(String name, String superClassName, List<String> interfaces) {
+                className = name;
             }
 
-            for (IField field : fields) {
+            @Override
+            public void visitField(IField field) {
                 if (field.isPublic()) {
                     reporter.report(
-                            clazz.getClassName(),
+                            className,
                             "Field '" + field.getName() + "' is public; consider using private/protected with accessors."
                     );
                 }
             }
-
-            return true;
-        } catch (Exception e) {
-            reporter.report(
-                    clazz.getClassName(),
-                    "PublicFieldCheck failed: " + e.getMessage()
-            );
-            return false;
-        }
+        };
     }
 }
@@ -1,90 +1,81 @@
 package Checks;
 
-import BytecodeParser.IClass;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.IClassListener;
 import BytecodeParser.IClassParser;
+import BytecodeParser.TypeHierarchy;
 import Reporting.Reporter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-public class RedundantInterfacesCheck implements Check {
+public class RedundantInterfacesCheck implements StreamingCheck {
 
-    private final IClassParser classParser;
+    private final TypeHierarchy typeHierarchy;
 
     public RedundantInterfacesCheck(IClassParser classParser) {
-        this.classParser = classParser;
+        this(new TypeHierarchy(classParser));
     }
 
-    @Override
-    public boolean apply(IClass classNode, Reporter reporter) {
-        try {
-            List<String> directInterfaces = classNode.getDirectInterfaces();
-            if (directInterfaces == null || directInterfaces.isEmpty()) return true;
+    /**
+     * @param typeHierarchy hierarchy cache, typically shared by the whole run
+     */
+    public RedundantInterfacesCheck(TypeHierarchy typeHierarchy) {
+        this.typeHierarchy = typeHierarchy;
+    }
 
-            Set<String> impliedInterfaces = new HashSet<>();
-            if (classNode.getSuperClassName() != null) {
-                collectAllInterfacesFromClass(classNode.getSuperClassName(), impliedInterfaces, new HashSet<>());
-            }
+    @Override
+    public Set<DataRequirement> requirements() {
+        return DataRequirement.headerOnly();
+    }
 
-            for (String iface : directInterfaces) {
-                collectSuperInterfaces(iface, impliedInterfaces, new HashSet<>());
-            }
+    @Override
+    public boolean appliesTo(ClassSummary summary) {
+        return summary.getInterfaceCount() > 0;
+    }
 
-            for (String iface : directInterfaces) {
-                if (impliedInterfaces.contains(iface)) {
-                    reporter.report(
-                            classNode.getClassName(),
-                            "Interface '" + iface
-                                    + "' is redundantly declared; it is already inherited " +
-                                    "from the superclass or another implemented interface."
-                    );
+    @Override
+    public IClassListener createListener(Reporter reporter) {
+        return new IClassListener() {
+            @Override
+            public void visitClass(String className, String superClassName, List<String> directInterfaces) {
+                try {
+                    checkInterfaces(className, superClassName, directInterfaces, reporter);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e.getMessage(), e);
                 }
             }
-
-            return true;
-        } catch (Exception e) {
-            reporter.report(
-                    classNode.getClassName(),
-                    "RedundantInterfacesCheck failed: " + e.getMessage()
-            );
-            return false;
-        }
+        };
     }
 
-    private void collectAllInterfacesFromClass(String className,
-                                               Set<String> out,
-                                               Set<String> visited) throws Exception {
-        if (className == null || !visited.add(className)) return;
+    private void checkInterfaces(String className,
+                                 String superClassName,
+                                 List<String> directInterfaces,
+                                 Reporter reporter) throws IOException {
+        if (directInterfaces == null || directInterfaces.isEmpty()) return;
 
-        IClass cls = classParser.parse(className);   // use the interface
-        List<String> interfaces = cls.getDirectInterfaces();
-        if (interfaces != null) {
-            for (String iface : interfaces) {
-                if (out.add(iface)) {
-                    collectSuperInterfaces(iface, out, visited);
-                }
-            }
+        Set<String> impliedInterfaces = new HashSet<>();
+        if (superClassName != null) {
+            impliedInterfaces.addAll(typeHierarchy.getAllInterfaces(superClassName));
         }
 
-        if (cls.getSuperClassName() != null) {
-            collectAllInterfacesFromClass(cls.getSuperClassName(), out, visited);
+        for (String iface : directInterfaces) {
+            impliedInterfaces.addAll(typeHierarchy.getAllInterfaces(iface));
         }
-    }
 
-    private void collectSuperInterfaces(String ifaceName,
-                                        Set<String> out,
-                                        Set<String> visited) throws Exception {
-        if (ifaceName == null || !visited.add(ifaceName)) return;
-
-        IClass iface = classParser.parse(ifaceName);   // use the interface
-        List<String> superIfaces = iface.getDirectInterfaces();
-        if (superIfaces != null) {
-            for (String superIface : superIfaces) {
-                if (out.add(superIface)) {
-                    collectSuperInterfaces(superIface, out, visited);
-                }
+        for (String iface : directInterfaces) {
+            if (impliedInterfaces.contains(iface)) {
+                reporter.report(
+                        className,
+                        "Interface '" + iface
+                                + "' is redundantly declared; it is already inherited " +
+                                "from the superclass or another implemented interface."
+                );
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package Checks;
+
+import BytecodeParser.IClass;
+import BytecodeParser.IClassListener;
+import Reporting.Reporter;
+
+/**
+ * A check that consumes a class as a stream of events, so the linter can
+ * read each class once and feed every check from that single pass.
+ */
+public interface StreamingCheck extends Check {
+
+    /**
+     * Creates a listener holding the per-class state of this check.
+     * A new listener is requested for every class that is linted.
+     */
+    IClassListener createListener(Reporter reporter);
+
+    @Override
+    default boolean apply(IClass clazz, Reporter reporter) {
+        try {
+            clazz.accept(createListener(reporter));
+            return true;
+        } catch (Exception e) {
+            reporter.report(
+                    clazz.getClassName(),
+                    getClass().getSimpleName() + " failed: " + e.getMessage()
+            );
+            return false;
+        }
+    }
+}
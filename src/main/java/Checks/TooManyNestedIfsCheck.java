@@ -1,49 +1,50 @@
 package Checks;
 
-import BytecodeParser.IClass;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.DataRequirement;
 import BytecodeParser.IMethod;
-import BytecodeParser.IInstruction;
-import BytecodeParser.ILabel;
+import BytecodeParser.SymbolTable;
 import Reporting.Reporter;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Flags methods whose conditional branching (if-statements) is nested
  * deeper than 3.
  */
-public class TooManyNestedIfsCheck implements Check {
+public class TooManyNestedIfsCheck implements MethodCheck {
 
     private static final int MAX_NESTING = 3;
 
     @Override
-    public boolean apply(IClass clazz, Reporter reporter) {
-        try {
-            for (IMethod method : clazz.getMethods()) {
+    public Set<DataRequirement> requirements() {
+        return EnumSet.of(DataRequirement.CODE);
+    }
 
-                // Skip constructors/static initializers
-                if (method.getName().equals("<init>") || method.getName().equals("<clinit>")) {
-                    continue;
-                }
+    @Override
+    public boolean appliesTo(ClassSummary summary) {
+        // Each nesting level needs its own conditional jump.
+        return summary.getConditionalJumpCount() > MAX_NESTING;
+    }
 
-                int maxDepth = computeMaxIfNesting(method);
-                if (maxDepth > MAX_NESTING) {
-                    reporter.report(
-                            clazz.getClassName(),
-                            "Method '" + method.getName() + "' has nested conditionals of depth "
-                                    + maxDepth + " (max allowed is " + MAX_NESTING + ")."
-                    );
-                }
-            }
-            return true;
-        } catch (Exception e) {
+    @Override
+    public void checkMethod(String className, IMethod method, Reporter reporter) {
+        // Skip constructors/static initializers
+        int nameId = method.getNameId();
+        if (nameId == SymbolTable.INIT || nameId == SymbolTable.CLINIT) {
+            return;
+        }
+
+        int maxDepth = computeMaxIfNesting(method);
+        if (maxDepth > MAX_NESTING) {
             reporter.report(
-                    clazz.getClassName(),
-                    "TooManyNestedIfsCheck failed: " + e.getMessage()
+                    className,
+                    "Method '" + method.getName() + "' has nested conditionals of depth "
+                            + maxDepth + " (max allowed is " + MAX_NESTING + ")."
             );
-            return false;
         }
     }
 
@@ -51,29 +52,25 @@ public class TooManyNestedIfsCheck implements Check {
      * Estimate the maximum nesting of if-statements in a method.
      */
     private int computeMaxIfNesting(IMethod method) {
-        List<IInstruction> instructions = method.getInstructions();
-        if (instructions == null || instructions.isEmpty()) {
+        int[] opcodes = method.getOpcodeArray();
+        if (opcodes.length == 0) {
             return 0;
         }
 
+        int[] jumpTargets = method.getJumpTargetArray();
         Deque<Integer> regionEndStack = new ArrayDeque<>();
         int maxDepth = 0;
 
-        for (int i = 0; i < instructions.size(); i++) {
-            IInstruction insn = instructions.get(i);
-
+        for (int i = 0; i < opcodes.length; i++) {
             while (!regionEndStack.isEmpty() && regionEndStack.peek() <= i) {
                 regionEndStack.pop();
             }
 
-            if (isConditionalJump(insn)) {
-                ILabel target = insn.getJumpLabel();
-                if (target != null) {
-                    int targetIndex = findLabelIndex(instructions, target);
-                    if (targetIndex > i) { // forward jump
-                        regionEndStack.push(targetIndex);
-                        maxDepth = Math.max(maxDepth, regionEndStack.size());
-                    }
+            if (isConditionalJump(opcodes[i])) {
+                int targetIndex = jumpTargets[i];
+                if (targetIndex > i) { // forward jump
+                    regionEndStack.push(targetIndex);
+                    maxDepth = Math.max(maxDepth, regionEndStack.size());
                 }
             }
         }
@@ -81,25 +78,10 @@ public class TooManyNestedIfsCheck implements Check {
         return maxDepth;
     }
 
-    private boolean isConditionalJump(IInstruction insn) {
-        int opcode = insn.getOpcode();
+    private boolean isConditionalJump(int opcode) {
         return (opcode >= 153 && opcode <= 166)  // IFEQ..IF_ACMPNE
                 || opcode == 198 // IFNULL
                 || opcode == 199; // IFNONNULL
     }
 
-    private int findLabelIndex(List<IInstruction> instructions, ILabel targetLabel) {
-        for (int i = 0; i < instructions.size(); i++) {
-            IInstruction insn = instructions.get(i);
-            // Check if this instruction IS the label (not a jump TO the label)
-            if (insn.getOpcode() == -1) { // LabelNode has opcode -1
-                ILabel label = insn.getJumpLabel();
-                if (label != null && label.equals(targetLabel)) {
-                    return i;
-                }
-            }
-        }
-        return -1;
-    }
-
 }
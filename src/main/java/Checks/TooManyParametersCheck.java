@@ -1,47 +1,60 @@
 package Checks;
 
-import BytecodeParser.IClass;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.IClassListener;
 import BytecodeParser.IMethod;
+import BytecodeParser.SymbolTable;
 import Reporting.Reporter;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Flags methods with too many parameters (5).
  */
-public class TooManyParametersCheck implements Check {
+public class TooManyParametersCheck implements StreamingCheck {
 
     // Default maximum allowed parameters
     private final static int maxParams = 5;
 
     @Override
-    public boolean apply(IClass clazz, Reporter reporter) {
-        try {
-            List<IMethod> methods = clazz.getMethods();
+    public Set<DataRequirement> requirements() {
+        return DataRequirement.headerOnly();
+    }
 
-            for (IMethod method : methods) {
-                if (method.getName().equals("<init>") || method.getName().equals("<clinit>")) {
-                    continue;
+    @Override
+    public boolean appliesTo(ClassSummary summary) {
+        return summary.getMaxParameterCount() > maxParams;
+    }
+
+    @Override
+    public IClassListener createListener(Reporter reporter) {
+        return new IClassListener() {
+            private String className;
+
+            @Override
+            public void visitClass(String name, String superClassName, List<String> interfaces) {
+                className = name;
+            }
+
+            @Override
+            public void visitMethod(IMethod method) {
+                int nameId = method.getNameId();
+                if (nameId == SymbolTable.INIT || nameId == SymbolTable.CLINIT) {
+                    return;
                 }
 
                 int paramCount = method.getParameterCount();
 
                 if (paramCount > maxParams) {
                     reporter.report(
-                            clazz.getClassName(),
+                            className,
                             "Method '" + method.getName() + "' has " + paramCount
                                     + " parameters (max allowed: " + maxParams + ")"
                     );
                 }
             }
-
-            return true;
-        } catch (Exception e) {
-            reporter.report(
-                    clazz.getClassName(),
-                    "TooManyParametersCheck failed: " + e.getMessage()
-            );
-            return false;
-        }
+        };
     }
 }
@@ -1,43 +1,40 @@
 package Checks;
 
-import BytecodeParser.IClass;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.DataRequirement;
 import BytecodeParser.IMethod;
-import BytecodeParser.IInstruction;
 import BytecodeParser.ILocalVariable;
 import Reporting.Reporter;
 
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
-public class UnusedVariablesCheck implements Check {
+public class UnusedVariablesCheck implements MethodCheck {
 
     @Override
-    public boolean apply(IClass clazz, Reporter reporter) {
-        try {
-            for (IMethod method : clazz.getMethods()) {
-                checkForUnusedVariables(clazz.getClassName(), method, reporter);
-            }
-            return true;
-        } catch (Exception e) {
-            reporter.report(clazz.getClassName(),
-                    "UnusedVariablesCheck failed: " + e.getMessage());
-            return false;
-        }
+    public Set<DataRequirement> requirements() {
+        return EnumSet.of(DataRequirement.CODE, DataRequirement.LOCAL_VARIABLES);
+    }
+
+    @Override
+    public boolean appliesTo(ClassSummary summary) {
+        return summary.has(ClassSummary.HAS_LOCAL_VARIABLES);
     }
 
-    private void checkForUnusedVariables(String className, IMethod method, Reporter reporter) {
+    @Override
+    public void checkMethod(String className, IMethod method, Reporter reporter) {
         List<ILocalVariable> locals = method.getLocalVariables();
         if (locals == null || locals.isEmpty()) return;
 
-        Set<Integer> loadedVariables = new HashSet<>();
+        BitSet loadedVariables = new BitSet();
 
-        for (IInstruction insn : method.getInstructions()) {
-            if (isLoadInstruction(insn.getOpcode())) {
-                Integer varIndex = insn.getVarIndex();
-                if (varIndex != null) {
-                    loadedVariables.add(varIndex);
-                }
+        int[] opcodes = method.getOpcodeArray();
+        int[] varIndices = method.getVarIndexArray();
+        for (int i = 0; i < opcodes.length; i++) {
+            if (isLoadInstruction(opcodes[i]) && varIndices[i] >= 0) {
+                loadedVariables.set(varIndices[i]);
             }
         }
 
@@ -50,7 +47,7 @@ public class UnusedVariablesCheck implements Check {
                 continue;
             }
 
-            if (!loadedVariables.contains(localVar.getIndex())) {
+            if (!loadedVariables.get(localVar.getIndex())) {
                 reporter.report(
                         className,
                         "Method '" + method.getName() +
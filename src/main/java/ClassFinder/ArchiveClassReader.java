@@ -0,0 +1,74 @@
+package ClassFinder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads class bytes out of jar/zip archives, keeping one open handle per
+ * archive for as long as the reader is open. Reading entries in the order
+ * they were discovered walks each archive front to back. Safe to share
+ * between threads; ZipFile supports concurrent entry reads.
+ */
+public final class ArchiveClassReader implements AutoCloseable {
+
+    private final Map<Path, ZipFile> openArchives = new HashMap<>();
+
+    public byte[] read(ClassLocation location) throws IOException {
+        ZipFile zip = open(location.getArchive());
+        ZipEntry entry = entry(zip, location);
+        try (InputStream in = zip.getInputStream(entry)) {
+            long size = entry.getSize();
+            if (size >= 0 && size <= Integer.MAX_VALUE) {
+                byte[] bytes = in.readNBytes((int) size);
+                if (bytes.length != size) {
+                    throw new IOException("Truncated entry " + entry.getName() + " in " + location.getArchive());
+                }
+                return bytes;
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * @return a stream over the entry's uncompressed bytes; the caller
+     *         closes it
+     */
+    public InputStream openEntry(ClassLocation location) throws IOException {
+        ZipFile zip = open(location.getArchive());
+        return zip.getInputStream(entry(zip, location));
+    }
+
+    private static ZipEntry entry(ZipFile zip, ClassLocation location) throws IOException {
+        ZipEntry entry = zip.getEntry(location.getEntryName());
+        if (entry == null) {
+            throw new IOException("No entry " + location.getEntryName() + " in " + location.getArchive());
+        }
+        return entry;
+    }
+
+    private synchronized ZipFile open(Path archive) throws IOException {
+        ZipFile zip = openArchives.get(archive);
+        if (zip == null) {
+            zip = new ZipFile(archive.toFile());
+            openArchives.put(archive, zip);
+        }
+        return zip;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (ZipFile zip : openArchives.values()) {
+            try {
+                zip.close();
+            } catch (IOException e) {
+                // Read-only handle; nothing left to flush.
+            }
+        }
+        openArchives.clear();
+    }
+}
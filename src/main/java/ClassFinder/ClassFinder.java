@@ -1,14 +1,49 @@
 package ClassFinder;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface ClassFinder {
 
+    /**
+     * Discover classes from some inputs (e.g., CLI args) lazily: classes
+     * are found as the stream is consumed, so linting can start with the
+     * first one. The stream may hold open directories or archives; close
+     * it when done. I/O errors met while consuming it are thrown as
+     * UncheckedIOException.
+     * @param inputs array of inputs (class names, directories, patterns, etc.)
+     * @return the classes to lint, in the same order as discoverLocations
+     */
+    Stream<ClassLocation> streamLocations(String[] inputs) throws IOException;
+
+    /**
+     * Discover classes from some inputs (e.g., CLI args).
+     * @param inputs array of inputs (class names, directories, patterns, etc.)
+     * @return the classes to lint, with their class files where known
+     */
+    default List<ClassLocation> discoverLocations(String[] inputs) throws IOException {
+        try (Stream<ClassLocation> locations = streamLocations(inputs)) {
+            return locations.collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     /**
      * Discover class names from some inputs (e.g., CLI args).
      * @param inputs array of inputs (class names, directories, patterns, etc.)
      * @return list of fully qualified class names to lint
      */
-    List<String> discoverClasses(String[] inputs) throws IOException;
+    default List<String> discoverClasses(String[] inputs) throws IOException {
+        List<ClassLocation> locations = discoverLocations(inputs);
+        List<String> classNames = new ArrayList<>(locations.size());
+        for (ClassLocation location : locations) {
+            classNames.add(location.getClassName());
+        }
+        return classNames;
+    }
 }
@@ -0,0 +1,113 @@
+package ClassFinder;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A class to lint: its fully qualified name and, when known, where its
+ * bytes live - a class file or an entry of a jar/zip archive. Classes
+ * with neither are resolved by name.
+ *
+ * A location may also carry the size of its bytes, when the finder got it
+ * for free (e.g. from an archive's central directory). The size is only a
+ * scheduling hint and takes no part in equality.
+ */
+public final class ClassLocation {
+
+    private final String className;
+    private final Path classFile;
+    private final Path archive;
+    private final String entryName;
+    private final long size;
+
+    private ClassLocation(String className, Path classFile, Path archive, String entryName, long size) {
+        this.className = className;
+        this.classFile = classFile;
+        this.archive = archive;
+        this.entryName = entryName;
+        this.size = size;
+    }
+
+    public static ClassLocation ofName(String className) {
+        return new ClassLocation(className, null, null, null, -1);
+    }
+
+    public static ClassLocation ofFile(String className, Path classFile) {
+        return ofFile(className, classFile, -1);
+    }
+
+    /**
+     * @param size the file's size in bytes, or -1 if unknown
+     */
+    public static ClassLocation ofFile(String className, Path classFile, long size) {
+        return new ClassLocation(className, classFile, null, null, size);
+    }
+
+    public static ClassLocation ofArchiveEntry(String className, Path archive, String entryName) {
+        return ofArchiveEntry(className, archive, entryName, -1);
+    }
+
+    /**
+     * @param size the entry's uncompressed size in bytes, or -1 if unknown
+     */
+    public static ClassLocation ofArchiveEntry(String className, Path archive, String entryName, long size) {
+        return new ClassLocation(className, null, archive, entryName, size);
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return the class file, or null if the class is looked up by name.
+     */
+    public Path getClassFile() {
+        return classFile;
+    }
+
+    /**
+     * @return the jar/zip holding the class, or null.
+     */
+    public Path getArchive() {
+        return archive;
+    }
+
+    /**
+     * @return the archive entry name, e.g. "com/example/Foo.class", or null.
+     */
+    public String getEntryName() {
+        return entryName;
+    }
+
+    /**
+     * @return the size of the class bytes as recorded by the finder, or -1
+     *         if it was not known at discovery time
+     */
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ClassLocation)) return false;
+        ClassLocation other = (ClassLocation) o;
+        return className.equals(other.className)
+                && Objects.equals(classFile, other.classFile)
+                && Objects.equals(archive, other.archive)
+                && Objects.equals(entryName, other.entryName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(className, classFile, archive, entryName);
+    }
+
+    @Override
+    public String toString() {
+        if (archive != null) {
+            return className + " (" + archive + "!/" + entryName + ")";
+        }
+        return classFile == null ? className : className + " (" + classFile + ")";
+    }
+}
@@ -0,0 +1,234 @@
+package ClassFinder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks a directory tree on a ForkJoinPool. Every directory is listed by
+ * its own task with Files.walkFileTree, and subdirectories are listed
+ * ahead of the stream on the pool, so sibling subtrees are listed in
+ * parallel. Files are matched during the listing; only matches are kept.
+ *
+ * The stream yields matches in the same order as a sequential Files.walk
+ * of the tree. It waits on a directory's listing only when it reaches
+ * that directory. At most LOOK_AHEAD_PER_THREAD directories per thread
+ * are listed before the stream reaches them; the rest are listed once
+ * the stream gets close. Listings the stream has passed are dropped, so
+ * memory stays bounded however large the tree.
+ */
+final class ClassTreeWalker {
+
+    /** Directories listed ahead of the stream, per walking thread. */
+    private static final int LOOK_AHEAD_PER_THREAD = 8;
+
+    /**
+     * Decides whether a file is a class to lint.
+     */
+    @FunctionalInterface
+    interface FileMatcher {
+        /**
+         * @return the location of the class in the file, or null to skip it
+         */
+        ClassLocation match(Path file, BasicFileAttributes attributes);
+    }
+
+    private final int parallelism;
+
+    ClassTreeWalker(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Starts listing the tree under start and returns its matches. Closing
+     * the stream stops any listing still in progress.
+     */
+    Stream<ClassLocation> walk(Path start, FileMatcher matcher) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Walk walk = new Walk(start, matcher, pool, parallelism * LOOK_AHEAD_PER_THREAD);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(walk,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(pool::shutdownNow);
+    }
+
+    /**
+     * Yields the matches of one walk in order, descending into each
+     * directory's listing when it reaches the directory's place in its
+     * parent's listing.
+     */
+    private static final class Walk implements Iterator<ClassLocation> {
+        private final FileMatcher matcher;
+        private final ForkJoinPool pool;
+        private final Semaphore lookAhead;
+        private final Deque<Listing> stack = new ArrayDeque<>();
+        private ClassLocation next;
+
+        /**
+         * @param lookAhead directories that may be listed before the stream
+         *                  reaches them
+         */
+        Walk(Path start, FileMatcher matcher, ForkJoinPool pool, int lookAhead) {
+            this.matcher = matcher;
+            this.pool = pool;
+            this.lookAhead = new Semaphore(lookAhead);
+            DirectoryTask root = new DirectoryTask(start);
+            root.startAhead();
+            stack.push(new Listing(new ArrayList<>(List.of(root))));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                Listing top = stack.peek();
+                if (top == null) {
+                    return false;
+                }
+                if (top.index == top.entries.size()) {
+                    stack.pop();
+                    continue;
+                }
+                // drop each entry as the stream passes it
+                Object entry = top.entries.set(top.index++, null);
+                if (entry instanceof DirectoryTask) {
+                    List<Object> entries = ((DirectoryTask) entry).take();
+                    for (Object subdirectory : entries) {
+                        if (subdirectory instanceof DirectoryTask) {
+                            ((DirectoryTask) subdirectory).startAhead();
+                        }
+                    }
+                    stack.push(new Listing(entries));
+                } else {
+                    next = (ClassLocation) entry;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ClassLocation next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ClassLocation result = next;
+            next = null;
+            return result;
+        }
+
+        /**
+         * Lists one directory.
+         */
+        private final class DirectoryTask extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final Path directory;
+            private final AtomicBoolean started = new AtomicBoolean();
+            private boolean holdsLookAhead;
+            /** Matching files and subdirectory tasks, in listing order. */
+            private List<Object> entries;
+
+            DirectoryTask(Path directory) {
+                this.directory = directory;
+            }
+
+            /**
+             * Starts listing the directory on the pool if it has not been
+             * started and the walk may still run ahead of the stream.
+             */
+            void startAhead() {
+                if (!lookAhead.tryAcquire()) {
+                    return;
+                }
+                if (!started.compareAndSet(false, true)) {
+                    lookAhead.release();
+                    return;
+                }
+                holdsLookAhead = true;
+                submit();
+            }
+
+            /**
+             * @return the directory's entries, listing it now if no one has
+             *         started it; the task lets go of them
+             */
+            List<Object> take() {
+                if (started.compareAndSet(false, true)) {
+                    submit();
+                }
+                join();
+                List<Object> result = entries;
+                entries = null;
+                if (holdsLookAhead) {
+                    lookAhead.release();
+                }
+                return result;
+            }
+
+            private void submit() {
+                if (getPool() == pool) {
+                    fork();
+                } else {
+                    pool.execute(this);
+                }
+            }
+
+            @Override
+            protected void compute() {
+                List<Object> listing = new ArrayList<>();
+                try {
+                    Files.walkFileTree(directory, EnumSet.noneOf(FileVisitOption.class), 1,
+                            new SimpleFileVisitor<Path>() {
+                                @Override
+                                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                                    if (attributes.isDirectory()) {
+                                        DirectoryTask subdirectory = new DirectoryTask(file);
+                                        subdirectory.startAhead();
+                                        listing.add(subdirectory);
+                                    } else {
+                                        ClassLocation location = matcher.match(file, attributes);
+                                        if (location != null) {
+                                            listing.add(location);
+                                        }
+                                    }
+                                    return FileVisitResult.CONTINUE;
+                                }
+                            });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entries = listing;
+            }
+        }
+
+        /**
+         * A listing the stream is inside of, and the next entry to yield.
+         */
+        private static final class Listing {
+            final List<Object> entries;
+            int index;
+
+            Listing(List<Object> entries) {
+                this.entries = entries;
+            }
+        }
+    }
+}
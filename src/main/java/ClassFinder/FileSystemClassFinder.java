@@ -2,69 +2,202 @@ package ClassFinder;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
+/**
+ * Finds classes by name, in directories under the classes root, in jar/zip
+ * archives, and by pattern. A pattern is either a PathMatcher pattern
+ * ("glob:com/example/**" or "regex:.*Test\.class") matched against class
+ * file paths relative to the classes root, or a class-name glob such as
+ * "com.example.*" (one package) or "com.example.**" (with subpackages).
+ * Directory trees are walked in parallel. Nested classes (with a '$' in
+ * their name) are skipped unless asked for.
+ */
 public final class FileSystemClassFinder implements ClassFinder {
 
+    private static final String GLOB = "glob:";
+    private static final String REGEX = "regex:";
+
     private final Path classesRoot;
+    private final boolean includeNestedClasses;
+    private final ClassTreeWalker walker;
 
     public FileSystemClassFinder(Path classesRoot) {
+        this(classesRoot, false, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param includeNestedClasses whether to lint nested, local and
+     *                             anonymous classes too
+     * @param walkThreads          threads listing directories in parallel
+     */
+    public FileSystemClassFinder(Path classesRoot, boolean includeNestedClasses, int walkThreads) {
         this.classesRoot = classesRoot.toAbsolutePath();
+        this.includeNestedClasses = includeNestedClasses;
+        this.walker = new ClassTreeWalker(walkThreads);
     }
 
+    /**
+     * Each input is expanded only when the stream reaches it: directories
+     * are walked and archives listed as their classes are consumed.
+     */
     @Override
-    public List<String> discoverClasses(String[] inputs) throws IOException {
-        List<String> classNames = new ArrayList<>();
-
-        for (String arg : inputs) {
-            File file = new File(arg);
-            if (file.isDirectory()) {
-                classNames.addAll(findClassFilesInDirectory(Paths.get(arg)));
-            } else if (arg.contains("*")) {
-                classNames.addAll(findClassFilesByPattern(arg));
-            } else {
-                classNames.add(arg);
+    public Stream<ClassLocation> streamLocations(String[] inputs) {
+        return Stream.of(inputs).flatMap(arg -> {
+            try {
+                return locationsOf(arg);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-        }
+        });
+    }
 
-        return classNames;
+    private Stream<ClassLocation> locationsOf(String arg) throws IOException {
+        File file = new File(arg);
+        if (file.isDirectory()) {
+            return findClassFilesInDirectory(Paths.get(arg));
+        } else if (file.isFile() && isArchive(arg)) {
+            return findClassFilesInArchive(Paths.get(arg));
+        } else if (isPattern(arg)) {
+            return findClassFilesByPattern(arg);
+        } else {
+            return Stream.of(ClassLocation.ofName(arg));
+        }
     }
 
     /**
-     * Find all .class files in a directory recursively
+     * Find all .class files in a directory recursively, walking the tree
+     * as the stream is consumed
      */
-    private List<String> findClassFilesInDirectory(Path dir) throws IOException {
+    private Stream<ClassLocation> findClassFilesInDirectory(Path dir) throws IOException {
         Path absoluteDir = dir.toAbsolutePath();
 
         if (!Files.exists(absoluteDir) || !Files.isDirectory(absoluteDir)) {
-            return List.of();
+            return Stream.empty();
         }
 
         if (!absoluteDir.startsWith(classesRoot)) {
-            return List.of();
+            return Stream.empty();
+        }
+
+        return walker.walk(absoluteDir, (file, attributes) -> toLocation(file, attributes));
+    }
+
+    /**
+     * List the .class entries of a jar/zip in entry order. Only the central
+     * directory is read; no entry is inflated here. The archive stays open
+     * until the stream is closed.
+     */
+    private Stream<ClassLocation> findClassFilesInArchive(Path archive) throws IOException {
+        Path absoluteArchive = archive.toAbsolutePath();
+        ZipFile zip = new ZipFile(absoluteArchive.toFile());
+
+        return zip.stream()
+                .filter(this::isLintedEntry)
+                .map(entry -> {
+                    String name = entry.getName();
+                    String className = name.substring(0, name.length() - 6).replace('/', '.');
+                    return ClassLocation.ofArchiveEntry(className, absoluteArchive, name, entry.getSize());
+                })
+                .onClose(() -> {
+                    try {
+                        zip.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private boolean isLintedEntry(ZipEntry entry) {
+        String name = entry.getName();
+        if (entry.isDirectory() || !name.endsWith(".class")) {
+            return false;
+        }
+        if (name.startsWith("META-INF/")) {
+            return false; // Skip versioned copies
+        }
+        if (!includeNestedClasses && name.contains("$")) {
+            return false;
+        }
+        return !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+    }
+
+    private static boolean isArchive(String arg) {
+        String lower = arg.toLowerCase();
+        return lower.endsWith(".jar") || lower.endsWith(".zip");
+    }
+
+    private static boolean isPattern(String arg) {
+        return arg.startsWith(GLOB) || arg.startsWith(REGEX)
+                || arg.indexOf('*') >= 0 || arg.indexOf('?') >= 0 || arg.indexOf('{') >= 0;
+    }
+
+    /**
+     * Find class files under the classes root matching a pattern. Paths
+     * are matched while the tree is walked, and a glob's leading literal
+     * directories are not walked beyond.
+     */
+    private Stream<ClassLocation> findClassFilesByPattern(String pattern) {
+        String syntaxAndPattern = pattern.startsWith(GLOB) || pattern.startsWith(REGEX)
+                ? pattern
+                : GLOB + pattern.replace('.', '/') + ".class";
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher(syntaxAndPattern);
+
+        Path start = syntaxAndPattern.startsWith(GLOB)
+                ? classesRoot.resolve(literalDirectories(syntaxAndPattern.substring(GLOB.length())))
+                : classesRoot;
+        if (!Files.isDirectory(start)) {
+            return Stream.empty();
         }
+        return walker.walk(start, (file, attributes) ->
+                matcher.matches(classesRoot.relativize(file)) ? toLocation(file, attributes) : null);
+    }
 
-        try (Stream<Path> paths = Files.walk(absoluteDir)) {
-            return paths
-                    .filter(Files::isRegularFile)
-                    .filter(p -> p.toString().endsWith(".class"))
-                    .filter(p -> !p.toString().contains("$")) // Skip inner classes
-                    .map(this::pathToClassName)
-                    .filter(name -> name != null && !name.isEmpty())
-                    .collect(Collectors.toList());
+    /**
+     * @return the leading directories of a glob that hold no wildcard,
+     *         e.g. "com/example" for "com/example/Foo*.class"
+     */
+    private static String literalDirectories(String glob) {
+        String[] segments = glob.split("/");
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (segments[i].matches(".*[*?\\[\\]{}\\\\].*")) {
+                break;
+            }
+            if (literal.length() > 0) {
+                literal.append('/');
+            }
+            literal.append(segments[i]);
         }
+        return literal.toString();
     }
 
     /**
-     * Find class files matching a wildcard pattern.
+     * @return the class in the file, or null if it is not a class file or
+     *         is a nested class that is skipped
      */
-    private List<String> findClassFilesByPattern(String pattern) {
-        // For now, just return the pattern as-is, without "*".
-        return List.of(pattern.replace("*", ""));
+    private ClassLocation toLocation(Path classPath, BasicFileAttributes attributes) {
+        String fileName = classPath.getFileName().toString();
+        if (!fileName.endsWith(".class")) {
+            return null;
+        }
+        if (!includeNestedClasses && fileName.indexOf('$') >= 0) {
+            return null;
+        }
+        boolean regular = attributes.isRegularFile();
+        if (!regular && !(attributes.isSymbolicLink() && Files.isRegularFile(classPath))) {
+            return null;
+        }
+        String className = pathToClassName(classPath);
+        if (className == null || className.isEmpty()) {
+            return null;
+        }
+        return ClassLocation.ofFile(className, classPath, regular ? attributes.size() : -1);
     }
 
     /**
@@ -0,0 +1,335 @@
+import Checks.Check;
+import ClassFinder.ArchiveClassReader;
+import ClassFinder.ClassFinder;
+import ClassFinder.ClassLocation;
+import Reporting.BufferingReporter;
+import Reporting.Reporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import BytecodeParser.*;
+
+/**
+ * Lints classes as a pipeline of stages, each with its own worker
+ * threads: discovery, reading class bytes, parsing, running checks, and
+ * reporting. Stages hand classes on through bounded queues, so reading
+ * the next classes overlaps with parsing and checking the current ones,
+ * and a fast stage blocks instead of running ahead of a slow one.
+ *
+ * When every check that applies to a class is a StreamingCheck, the
+ * check stage reads the class in a single pass instead of parsing it
+ * into a model first, as Linter does.
+ *
+ * Discovery hands classes to the read stage a window at a time, most
+ * expensive first within the window (see LongestFirst), so a large class
+ * is not started after all the small ones around it. The window is no
+ * larger than the number of classes allowed in flight, which keeps the
+ * class every later one waits for from being held back.
+ *
+ * Classes are numbered as they are discovered and reported in that order
+ * on the calling thread, so the output is identical to Linter's
+ * sequential run. At most queueCapacity classes per stage, and
+ * maxInFlight classes overall, are held in memory at once.
+ */
+final class LintPipeline {
+
+    private static final Item DONE = new Item(-1, null);
+
+    private final Linter linter;
+    private final int readThreads;
+    private final int parseThreads;
+    private final int checkThreads;
+    private final int queueCapacity;
+    private final int maxInFlight;
+
+    /**
+     * @param readThreads   workers reading class files and archive entries
+     * @param parseThreads  workers summarizing and parsing classes
+     * @param checkThreads  workers running checks on parsed classes
+     * @param queueCapacity classes each queue between stages can hold
+     */
+    LintPipeline(Linter linter, int readThreads, int parseThreads, int checkThreads, int queueCapacity) {
+        this.linter = linter;
+        this.readThreads = Math.max(1, readThreads);
+        this.parseThreads = Math.max(1, parseThreads);
+        this.checkThreads = Math.max(1, checkThreads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        // every queue full, every worker busy, plus the reorder window
+        this.maxInFlight = 4 * this.queueCapacity + this.readThreads + this.parseThreads + this.checkThreads;
+    }
+
+    /**
+     * Discovers the classes named by the inputs and lints them.
+     * @return the number of classes discovered
+     * @throws IOException if discovery fails; classes found before the
+     *                     failure are still reported
+     * @throws Error       the first Error a stage hit, once every class has
+     *                     been reported; the class it hit is reported as
+     *                     failed
+     */
+    int run(ClassFinder finder, String[] inputs, Reporter reporter) throws IOException {
+        BlockingQueue<Item> readQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> parseQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> checkQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> reportQueue = new ArrayBlockingQueue<>(queueCapacity);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Discovery discovery = new Discovery(finder, inputs, readQueue, inFlight, maxInFlight);
+        AtomicReference<Error> error = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+
+        try (ArchiveClassReader archives = new ArchiveClassReader()) {
+            threads.add(start("lint-discovery", discovery));
+            startStage("lint-read", readThreads, readQueue, parseQueue, item -> read(item, archives), error, threads);
+            startStage("lint-parse", parseThreads, parseQueue, checkQueue, item -> parse(item, archives), error, threads);
+            startStage("lint-check", checkThreads, checkQueue, reportQueue, this::check, error, threads);
+
+            report(reportQueue, inFlight, reporter);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            Thread.currentThread().interrupt();
+        }
+
+        if (error.get() != null) {
+            throw error.get();
+        }
+        if (discovery.failure instanceof Error) {
+            throw (Error) discovery.failure;
+        }
+        if (discovery.failure instanceof IOException) {
+            throw (IOException) discovery.failure;
+        }
+        if (discovery.failure instanceof RuntimeException) {
+            throw (RuntimeException) discovery.failure;
+        }
+        return discovery.count;
+    }
+
+    private void read(Item item, ArchiveClassReader archives) throws IOException {
+        item.classFile = Linter.read(item.location, archives);
+    }
+
+    private void parse(Item item, ArchiveClassReader archives) throws IOException {
+        ClassSummary summary = linter.summarize(item.classFile != null ? ByteBuffer.wrap(item.classFile) : null);
+        List<Check> active = linter.applicableChecks(summary);
+        if (linter.noneApply(active)) {
+            item.finished = true;
+            return;
+        }
+        item.checks = active;
+        item.requirements = linter.requirementsOf(active);
+        if (Linter.allStream(active) && !linter.splitsMethods(summary, active)) {
+            return; // parsed and checked in one pass by the check stage
+        }
+        ClassLocation location = item.location;
+        item.model = linter.parse(location.getClassName(), item.classFile,
+                () -> Linter.read(location, archives), item.requirements);
+        item.classFile = null;
+    }
+
+    private void check(Item item) {
+        String className = item.location.getClassName();
+        if (item.model != null) {
+            linter.applyChecks(className, item.model, item.checks, item.reports);
+        } else {
+            linter.scan(className, item.classFile != null ? ByteBuffer.wrap(item.classFile) : null,
+                    item.checks, item.requirements, item.reports);
+        }
+        item.classFile = null;
+        item.model = null;
+    }
+
+    /**
+     * Flushes each class's reports once every class discovered before it
+     * has been flushed, until the last stage signals the end.
+     */
+    private static void report(BlockingQueue<Item> reportQueue, Semaphore inFlight,
+                               Reporter reporter) throws InterruptedException {
+        Map<Integer, Item> waiting = new HashMap<>();
+        int next = 0;
+        for (Item item = reportQueue.take(); item != DONE; item = reportQueue.take()) {
+            waiting.put(item.sequence, item);
+            for (Item ready = waiting.remove(next); ready != null; ready = waiting.remove(next)) {
+                ready.reports.flushTo(reporter);
+                inFlight.release();
+                next++;
+            }
+        }
+    }
+
+    /**
+     * Starts the workers of one stage. Each takes classes from in, works
+     * on them and passes them to out. A class that failed in an earlier
+     * stage is passed on untouched so its report keeps its place. The end
+     * marker is put back for the other workers of the stage, and the last
+     * worker to see it passes it downstream. Whatever a class throws is
+     * recorded on it, so no worker dies with a class or the end marker in
+     * hand; the first Error is also kept in error for run() to rethrow.
+     */
+    private static void startStage(String name, int workers, BlockingQueue<Item> in, BlockingQueue<Item> out,
+                                   Work work, AtomicReference<Error> error, List<Thread> threads) {
+        AtomicInteger running = new AtomicInteger(workers);
+        for (int i = 0; i < workers; i++) {
+            threads.add(start(name + "-" + (i + 1), () -> {
+                try {
+                    for (Item item = in.take(); item != DONE; item = in.take()) {
+                        if (!item.finished) {
+                            try {
+                                work.accept(item);
+                            } catch (Throwable e) {
+                                item.fail(e);
+                                if (e instanceof Error) {
+                                    error.compareAndSet(null, (Error) e);
+                                }
+                            }
+                        }
+                        out.put(item);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    try {
+                        in.put(DONE);
+                        if (running.decrementAndGet() == 0) {
+                            out.put(DONE);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+        }
+    }
+
+    private static Thread start(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        void accept(Item item) throws IOException;
+    }
+
+    /**
+     * Numbers the classes as the finder's stream yields them and feeds
+     * them to the read stage a window at a time, waiting whenever
+     * maxInFlight classes are not yet reported. A window is handed over
+     * early whenever the read stage has run dry, so linting starts with
+     * the first class found and never waits on a slow walk.
+     */
+    private static final class Discovery implements Runnable {
+        private final ClassFinder finder;
+        private final String[] inputs;
+        private final BlockingQueue<Item> out;
+        private final Semaphore inFlight;
+        private final int windowSize;
+        private volatile int count;
+        private volatile Throwable failure;
+
+        /**
+         * @param windowSize classes sorted together; at most the permits of
+         *                   inFlight, or the first class of a window could
+         *                   wait for permits held by the rest of it
+         */
+        Discovery(ClassFinder finder, String[] inputs, BlockingQueue<Item> out, Semaphore inFlight,
+                  int windowSize) {
+            this.finder = finder;
+            this.inputs = inputs;
+            this.out = out;
+            this.inFlight = inFlight;
+            this.windowSize = windowSize;
+        }
+
+        @Override
+        public void run() {
+            List<ClassLocation> window = new ArrayList<>(windowSize);
+            try {
+                try (Stream<ClassLocation> locations = finder.streamLocations(inputs)) {
+                    Iterator<ClassLocation> it = locations.iterator();
+                    while (it.hasNext()) {
+                        window.add(it.next());
+                        if (window.size() == windowSize || out.isEmpty()) {
+                            dispatch(window);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (UncheckedIOException e) {
+                    failure = e.getCause();
+                } catch (Throwable e) {
+                    failure = e;
+                }
+                dispatch(window);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                try {
+                    out.put(DONE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void dispatch(List<ClassLocation> window) throws InterruptedException {
+            int first = count;
+            for (int index : LongestFirst.order(window)) {
+                inFlight.acquire();
+                out.put(new Item(first + index, window.get(index)));
+            }
+            count = first + window.size();
+            window.clear();
+        }
+    }
+
+    /**
+     * One class on its way through the pipeline. Each field is written by
+     * one stage and read by the next; the queues between stages make the
+     * writes visible.
+     */
+    private static final class Item {
+        final int sequence;
+        final ClassLocation location;
+        final BufferingReporter reports = new BufferingReporter();
+        byte[] classFile;
+        List<Check> checks;
+        Set<DataRequirement> requirements;
+        IClass model;
+        boolean finished;
+
+        Item(int sequence, ClassLocation location) {
+            this.sequence = sequence;
+            this.location = location;
+        }
+
+        void fail(Throwable e) {
+            reports.report(location.getClassName(), e instanceof Error
+                    ? "Failed to lint class: " + e
+                    : "Failed to parse class: " + e.getMessage());
+            classFile = null;
+            model = null;
+            finished = true;
+        }
+    }
+}
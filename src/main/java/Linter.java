@@ -1,17 +1,36 @@
 import BytecodeParser.Parser;
 import Checks.Check;
+import Checks.MethodCheck;
+import Checks.StreamingCheck;
+import ClassFinder.ArchiveClassReader;
+import ClassFinder.ClassLocation;
+import Reporting.BufferingReporter;
+import Reporting.OrderedReporter;
 import Reporting.Reporter;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import BytecodeParser.*;
 
 public class Linter {
 
+    /** Methods per chunk when a large class's methods are split. */
+    static final int METHOD_CHUNK_SIZE = 64;
+
     private final Parser parser;
     private final List<Check> checks = new ArrayList<>();
+    private final Set<DataRequirement> requirements = EnumSet.noneOf(DataRequirement.class);
+    private int splitMethodThreshold;
 
     public Linter(Parser parser, List<Check> initialChecks) {
         this.parser = parser;
@@ -21,20 +40,176 @@ public class Linter {
     private void addChecks(List<Check> checks) {
         if (checks != null) {
             this.checks.addAll(checks);
+            for (Check check : checks) {
+                this.requirements.addAll(check.requirements());
+            }
+        }
+    }
+
+    /**
+     * Makes classes with at least minMethods methods run the per-method
+     * part of their checks (every MethodCheck) over chunks of methods in
+     * parallel, on the current ForkJoinPool or the common pool. Findings
+     * keep the order of a single-threaded run. Smaller classes are checked
+     * as before, since splitting them costs more than it saves.
+     * @param minMethods method count from which classes are split; 0 or
+     *                   less turns splitting off
+     */
+    void splitMethods(int minMethods) {
+        this.splitMethodThreshold = Math.max(0, minMethods);
+    }
+
+    /**
+     * Lints one class. Class bytes are read into the thread's ParseArena,
+     * which is released once every check on the class has finished.
+     * Checks whose precondition rules the class out are not run, and the
+     * class is not parsed at all when none is left.
+     */
+    private void run(ClassLocation location, ArchiveClassReader archives, Reporter reporter) {
+        String className = location.getClassName();
+        ParseArena arena = ParseArena.current();
+        try {
+            ByteBuffer classFile;
+            try {
+                classFile = read(location, archives, arena);
+            } catch (IOException | RuntimeException e) {
+                reporter.report(className, "Failed to parse class: " + e.getMessage());
+                return;
+            }
+
+            ClassSummary summary = summarize(classFile);
+            List<Check> active = applicableChecks(summary);
+            if (noneApply(active)) {
+                return;
+            }
+            Set<DataRequirement> needed = requirementsOf(active);
+            if (allStream(active) && !splitsMethods(summary, active)) {
+                scan(className, classFile, active, needed, reporter);
+            } else {
+                parseAndApply(className, classFile, () -> read(location, archives), active, needed, reporter);
+            }
+        } finally {
+            arena.release();
+        }
+    }
+
+    /**
+     * @return the summary of the class file, or null if there is none or
+     *         it is malformed, in which case the parser reports it
+     */
+    ClassSummary summarize(ByteBuffer classFile) {
+        if (classFile == null) {
+            return null;
+        }
+        try {
+            return parser.summarize(classFile);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the checks whose precondition holds for the class, or the
+     *         full list when there is no summary
+     */
+    List<Check> applicableChecks(ClassSummary summary) {
+        if (summary == null) {
+            return checks;
+        }
+        List<Check> active = new ArrayList<>(checks.size());
+        for (Check check : checks) {
+            if (check.appliesTo(summary)) {
+                active.add(check);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * @return true if the summary ruled out every check, so the class
+     *         need not be parsed
+     */
+    boolean noneApply(List<Check> active) {
+        return active != checks && active.isEmpty();
+    }
+
+    /**
+     * @return true if the class is large enough to have its methods
+     *         checked in chunks, which needs a parsed model rather than a
+     *         single streaming pass
+     */
+    boolean splitsMethods(ClassSummary summary, List<Check> active) {
+        return splitMethodThreshold > 0 && summary != null
+                && summary.getMethodCount() >= splitMethodThreshold && anyMethodCheck(active);
+    }
+
+    private static boolean anyMethodCheck(List<Check> checks) {
+        for (Check check : checks) {
+            if (check instanceof MethodCheck) {
+                return true;
+            }
         }
+        return false;
     }
 
-    private void run(String className, Reporter reporter) {
+    /**
+     * @return the class data the given checks need
+     */
+    Set<DataRequirement> requirementsOf(List<Check> active) {
+        if (active == checks) {
+            return requirements;
+        }
+        Set<DataRequirement> result = EnumSet.noneOf(DataRequirement.class);
+        for (Check check : active) {
+            result.addAll(check.requirements());
+        }
+        return result;
+    }
+
+    /**
+     * @param source reads the class again, for models that go back to the
+     *               bytes after parsing
+     */
+    private void parseAndApply(String className, ByteBuffer classFile, ClassFileSource source,
+                               List<Check> checks, Set<DataRequirement> requirements, Reporter reporter) {
         IClass node;
 
         try {
-            node = parser.parse(className);
+            node = classFile != null
+                    ? parser.parse(classFile, requirements, source)
+                    : parser.parse(className, requirements);
         } catch (IOException | RuntimeException e) {
             reporter.report(className, "Failed to parse class: " + e.getMessage());
             return;
         }
 
-        for (Check check : checks) {
+        applyChecks(className, node, checks, reporter);
+    }
+
+    /**
+     * Runs each check on a parsed class, reporting checks that fail or
+     * throw instead of propagating. In a class with enough methods the
+     * MethodChecks run first, over chunks of methods in parallel, and
+     * their findings are flushed at each check's place in the list.
+     */
+    void applyChecks(String className, IClass node, List<Check> checks, Reporter reporter) {
+        MethodChunks chunks = null;
+        if (splitMethodThreshold > 0 && anyMethodCheck(checks)) {
+            try {
+                if (node.getMethods().size() >= splitMethodThreshold) {
+                    chunks = MethodChunks.run(node, checks, METHOD_CHUNK_SIZE);
+                }
+            } catch (RuntimeException e) {
+                chunks = null; // let each check report it on its own
+            }
+        }
+
+        for (int i = 0; i < checks.size(); i++) {
+            Check check = checks.get(i);
+            if (chunks != null && check instanceof MethodCheck) {
+                chunks.flush(i, className, reporter);
+                continue;
+            }
             try {
                 boolean ok = check.apply(node, reporter);
                 if (!ok) {
@@ -49,6 +224,96 @@ public class Linter {
         }
     }
 
+    /**
+     * Parses a class from its bytes, or by name when there are none.
+     * @param source reads the class again, for models that go back to the
+     *               bytes after parsing
+     */
+    IClass parse(String className, byte[] classFile, ClassFileSource source,
+                 Set<DataRequirement> requirements) throws IOException {
+        return classFile != null
+                ? parser.parse(classFile, requirements, source)
+                : parser.parse(className, requirements);
+    }
+
+    /**
+     * Reads the class file or archive entry behind the location into a
+     * new array, for callers that hand the bytes to another thread.
+     * @return the class bytes, or null if the location only has a name
+     */
+    static byte[] read(ClassLocation location, ArchiveClassReader archives) throws IOException {
+        if (location.getArchive() != null) {
+            return archives.read(location);
+        }
+        if (location.getClassFile() != null) {
+            return ClassBytes.read(location.getClassFile());
+        }
+        return null;
+    }
+
+    /**
+     * Reads the class file or archive entry behind the location into the
+     * arena.
+     * @return the class bytes, or null if the location only has a name
+     */
+    private static ByteBuffer read(ClassLocation location, ArchiveClassReader archives,
+                                   ParseArena arena) throws IOException {
+        if (location.getArchive() != null) {
+            try (InputStream in = archives.openEntry(location)) {
+                return arena.read(in);
+            }
+        }
+        if (location.getClassFile() != null) {
+            return arena.read(location.getClassFile());
+        }
+        return null;
+    }
+
+    /**
+     * Reads the class once and fans every event out to all checks.
+     * Each check reports into its own buffer so the output keeps the
+     * same per-check order as running the checks one after another.
+     */
+    void scan(String className, ByteBuffer classFile, List<Check> checks,
+              Set<DataRequirement> requirements, Reporter reporter) {
+        List<CheckListener> listeners = new ArrayList<>(checks.size());
+        for (Check check : checks) {
+            listeners.add(new CheckListener((StreamingCheck) check));
+        }
+
+        try {
+            FanOutListener fanOut = new FanOutListener(listeners);
+            if (classFile != null) {
+                parser.scan(classFile, requirements, fanOut);
+            } else {
+                parser.scan(className, requirements, fanOut);
+            }
+        } catch (IOException | RuntimeException e) {
+            reporter.report(className, "Failed to parse class: " + e.getMessage());
+            return;
+        }
+
+        for (CheckListener listener : listeners) {
+            listener.buffer.flushTo(reporter);
+            if (listener.failed) {
+                reporter.report(className,
+                        "Check failed: " + listener.check.getClass().getSimpleName());
+            }
+        }
+    }
+
+    static boolean allStream(List<Check> checks) {
+        if (checks.isEmpty()) {
+            return false;
+        }
+        for (Check check : checks) {
+            if (!(check instanceof StreamingCheck)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Run linter on multiple class names.
      * @param classNames list of fully qualified class names
@@ -59,7 +324,181 @@ public class Linter {
             return;
         }
         for (String className : classNames) {
-            run(className, reporter);
+            run(ClassLocation.ofName(className), null, reporter);
+        }
+    }
+
+    /**
+     * Run linter on discovered class locations, reading class files and
+     * archive entries directly where the location has one. Each archive
+     * is opened once for the whole run.
+     * @param locations classes to lint
+     * @param reporter  the reporter to use for output
+     */
+    void runLocations(List<ClassLocation> locations, Reporter reporter) {
+        if (locations == null) {
+            return;
+        }
+        try (ArchiveClassReader archives = new ArchiveClassReader()) {
+            for (ClassLocation location : locations) {
+                run(location, archives, reporter);
+            }
+        }
+    }
+
+    /**
+     * Run linter on multiple class names using up to parallelism threads.
+     * Findings come out in the same order as the sequential run.
+     */
+    void runMultiple(List<String> classNames, Reporter reporter, int parallelism) {
+        if (classNames == null) {
+            return;
+        }
+        List<ClassLocation> locations = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            locations.add(ClassLocation.ofName(className));
+        }
+        runLocations(locations, reporter, parallelism);
+    }
+
+    /**
+     * Run linter on discovered class locations using up to parallelism
+     * threads. Workers take classes most expensive first (see LongestFirst)
+     * so the largest classes do not end up running alone at the end; each
+     * class reports into its own buffer and the buffers are flushed in
+     * input order, so the output is identical to the sequential run.
+     * The workers live in a ForkJoinPool, so once the classes run out,
+     * idle workers steal method chunks from classes that are still going.
+     * @param parallelism number of worker threads; 1 or less runs
+     *                    sequentially on the calling thread
+     * @throws Error the first Error a class hit, once every class has been
+     *               reported; the class it hit is reported as failed
+     */
+    void runLocations(List<ClassLocation> locations, Reporter reporter, int parallelism) {
+        if (locations == null) {
+            return;
+        }
+        if (parallelism <= 1 || locations.size() < 2) {
+            runLocations(locations, reporter);
+            return;
+        }
+        try (ArchiveClassReader archives = new ArchiveClassReader()) {
+            OrderedReporter ordered = new OrderedReporter(locations.size(), reporter);
+            int[] order = LongestFirst.order(locations);
+            AtomicInteger next = new AtomicInteger();
+            AtomicReference<Error> error = new AtomicReference<>();
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<ForkJoinTask<?>> workers = new ArrayList<>(parallelism);
+                for (int i = 0; i < Math.min(parallelism, order.length); i++) {
+                    workers.add(pool.submit(() -> {
+                        for (int n = next.getAndIncrement(); n < order.length; n = next.getAndIncrement()) {
+                            ClassLocation location = locations.get(order[n]);
+                            BufferingReporter buffer = new BufferingReporter();
+                            try {
+                                run(location, archives, buffer);
+                            } catch (Throwable e) {
+                                // Keep the worker going; a class left without
+                                // its slot would hold back every later one.
+                                buffer.report(location.getClassName(), "Failed to lint class: " + e);
+                                if (e instanceof Error) {
+                                    error.compareAndSet(null, (Error) e);
+                                }
+                            } finally {
+                                ordered.complete(order[n], buffer);
+                            }
+                        }
+                    }));
+                }
+                for (ForkJoinTask<?> worker : workers) {
+                    worker.join();
+                }
+            } finally {
+                pool.shutdown();
+            }
+            if (error.get() != null) {
+                throw error.get();
+            }
+        }
+    }
+
+    /**
+     * One check's listener for one class. A listener that throws is
+     * reported the same way the check's own apply() would report it and
+     * receives no further events for that class.
+     */
+    private static final class CheckListener {
+        private final StreamingCheck check;
+        private final BufferingReporter buffer = new BufferingReporter();
+        private final IClassListener listener;
+        private boolean failed;
+
+        CheckListener(StreamingCheck check) {
+            this.check = check;
+            this.listener = check.createListener(buffer);
+        }
+
+        void fail(String className, RuntimeException e) {
+            failed = true;
+            buffer.report(className,
+                    check.getClass().getSimpleName() + " failed: " + e.getMessage());
+        }
+    }
+
+    private static final class FanOutListener implements IClassListener {
+        private final List<CheckListener> listeners;
+        private String className;
+
+        FanOutListener(List<CheckListener> listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override
+        public void visitClass(String name, String superClassName, List<String> interfaces) {
+            className = name;
+            for (CheckListener l : listeners) {
+                try {
+                    l.listener.visitClass(name, superClassName, interfaces);
+                } catch (RuntimeException e) {
+                    l.fail(className, e);
+                }
+            }
+        }
+
+        @Override
+        public void visitField(IField field) {
+            for (CheckListener l : listeners) {
+                if (l.failed) continue;
+                try {
+                    l.listener.visitField(field);
+                } catch (RuntimeException e) {
+                    l.fail(className, e);
+                }
+            }
+        }
+
+        @Override
+        public void visitMethod(IMethod method) {
+            for (CheckListener l : listeners) {
+                if (l.failed) continue;
+                try {
+                    l.listener.visitMethod(method);
+                } catch (RuntimeException e) {
+                    l.fail(className, e);
+                }
+            }
+        }
+
+        @Override
+        public void visitEnd() {
+            for (CheckListener l : listeners) {
+                if (l.failed) continue;
+                try {
+                    l.listener.visitEnd();
+                } catch (RuntimeException e) {
+                    l.fail(className, e);
+                }
+            }
         }
     }
 }
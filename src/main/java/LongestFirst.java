@@ -0,0 +1,52 @@
+import ClassFinder.ClassLocation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Longest-processing-time-first order for linting classes in parallel.
+ * A class's cost is estimated from the size of its class file, which
+ * tracks the amount of code to decode and check closely enough to keep a
+ * few huge classes from being started last and running alone at the end.
+ */
+final class LongestFirst {
+
+    private LongestFirst() {
+    }
+
+    /**
+     * @return the indices of the locations, most expensive first; classes
+     *         of equal cost keep their input order
+     */
+    static int[] order(List<ClassLocation> locations) {
+        long[] costs = new long[locations.size()];
+        Integer[] order = new Integer[locations.size()];
+        for (int i = 0; i < costs.length; i++) {
+            costs[i] = estimate(locations.get(i));
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(costs[b], costs[a]));   // stable
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return the size of the class bytes, from the location if the finder
+     *         recorded it or else from the file system; 0 when unknown,
+     *         which schedules the class last
+     */
+    static long estimate(ClassLocation location) {
+        if (location.getSize() >= 0) {
+            return location.getSize();
+        }
+        if (location.getClassFile() != null) {
+            try {
+                return Files.size(location.getClassFile());
+            } catch (IOException e) {
+                return 0; // reported when the class is read
+            }
+        }
+        return 0;
+    }
+}
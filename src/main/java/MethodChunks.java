@@ -0,0 +1,117 @@
+import BytecodeParser.IClass;
+import BytecodeParser.IMethod;
+import Checks.Check;
+import Checks.MethodCheck;
+import Reporting.BufferingReporter;
+import Reporting.Reporter;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the MethodChecks of one large class over fixed-size chunks of its
+ * methods as fork/join tasks. Every check reports into its own buffer per
+ * chunk; flushing a check's buffers chunk by chunk gives the findings in
+ * method declaration order, exactly as a single pass over the class would.
+ */
+final class MethodChunks {
+
+    private final String className;
+    private final List<IMethod> methods;
+    private final List<Check> checks;
+    private final int chunkSize;
+    private final int chunkCount;
+    private final BufferingReporter[][] buffers;   // [check][chunk]
+    private final boolean[][] failed;              // [check][chunk]
+
+    private MethodChunks(String className, List<IMethod> methods, List<Check> checks, int chunkSize) {
+        this.className = className;
+        this.methods = methods;
+        this.checks = checks;
+        this.chunkSize = chunkSize;
+        this.chunkCount = (methods.size() + chunkSize - 1) / chunkSize;
+        this.buffers = new BufferingReporter[checks.size()][chunkCount];
+        this.failed = new boolean[checks.size()][chunkCount];
+    }
+
+    /**
+     * Checks every chunk, in parallel on the caller's ForkJoinPool or the
+     * common pool, and returns once all of them are done.
+     * @param checks the checks of the class; only the MethodChecks run here
+     */
+    static MethodChunks run(IClass clazz, List<Check> checks, int chunkSize) {
+        MethodChunks chunks = new MethodChunks(clazz.getClassName(), clazz.getMethods(), checks, chunkSize);
+        if (chunks.chunkCount > 0) {
+            chunks.new ChunkTask(0, chunks.chunkCount).invoke();
+        }
+        return chunks;
+    }
+
+    /**
+     * Flushes the findings of the check at checkIndex in method order. A
+     * check that threw stops at the method that threw, and is reported as
+     * failed, the same as when it runs over the class in one pass.
+     * @param className the name the linter reports check failures under
+     */
+    void flush(int checkIndex, String className, Reporter reporter) {
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            buffers[checkIndex][chunk].flushTo(reporter);
+            if (failed[checkIndex][chunk]) {
+                reporter.report(className,
+                        "Check failed: " + checks.get(checkIndex).getClass().getSimpleName());
+                return;
+            }
+        }
+    }
+
+    private void check(int chunk) {
+        for (int c = 0; c < checks.size(); c++) {
+            if (checks.get(c) instanceof MethodCheck) {
+                buffers[c][chunk] = new BufferingReporter();
+            }
+        }
+        int end = Math.min(methods.size(), (chunk + 1) * chunkSize);
+        for (int m = chunk * chunkSize; m < end; m++) {
+            IMethod method = methods.get(m);
+            for (int c = 0; c < checks.size(); c++) {
+                if (buffers[c][chunk] == null || failed[c][chunk]) {
+                    continue;
+                }
+                MethodCheck check = (MethodCheck) checks.get(c);
+                try {
+                    check.checkMethod(className, method, buffers[c][chunk]);
+                } catch (RuntimeException e) {
+                    failed[c][chunk] = true;
+                    buffers[c][chunk].report(className,
+                            check.getClass().getSimpleName() + " failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks chunks [start, end), halving the range until one chunk is
+     * left.
+     */
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+
+        ChunkTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                check(start);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new ChunkTask(start, middle), new ChunkTask(middle, end));
+        }
+    }
+}
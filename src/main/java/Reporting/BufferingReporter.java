@@ -0,0 +1,24 @@
+package Reporting;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds reports in memory until they are flushed to another reporter.
+ */
+public class BufferingReporter implements Reporter {
+
+    private final List<String[]> reports = new ArrayList<>();
+
+    @Override
+    public void report(String className, String message) {
+        reports.add(new String[] {className, message});
+    }
+
+    public void flushTo(Reporter reporter) {
+        for (String[] report : reports) {
+            reporter.report(report[0], report[1]);
+        }
+        reports.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package Reporting;
+
+/**
+ * Forwards the reports of numbered work items to a delegate strictly in
+ * item order, whatever order the items finish in. Each item reports into
+ * its own BufferingReporter; a finished buffer is held until every item
+ * before it has been flushed. Safe to complete items from many threads;
+ * the delegate is only ever called by one thread at a time.
+ */
+public final class OrderedReporter {
+
+    private final Reporter delegate;
+    private final BufferingReporter[] finished;
+    private int next;
+
+    public OrderedReporter(int itemCount, Reporter delegate) {
+        this.delegate = delegate;
+        this.finished = new BufferingReporter[itemCount];
+    }
+
+    /**
+     * Hands over the reports of one item and flushes every item that is
+     * now next in line.
+     */
+    public synchronized void complete(int item, BufferingReporter reports) {
+        finished[item] = reports;
+        while (next < finished.length && finished[next] != null) {
+            finished[next].flushTo(delegate);
+            finished[next] = null;
+            next++;
+        }
+    }
+}
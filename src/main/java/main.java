@@ -1,6 +1,8 @@
 import BytecodeParser.ASM.ASMParser;
 import BytecodeParser.IClassParser;
 import BytecodeParser.Parser;
+import BytecodeParser.TypeHierarchy;
+import BytecodeParser.TypeIndex;
 import Checks.Check;
 import Checks.CheckFactory;
 import ClassFinder.ClassFinder;
@@ -8,49 +10,153 @@ import ClassFinder.FileSystemClassFinder;
 import Reporting.ConsoleReporter;
 import Reporting.Reporter;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 public final class main {
 
     private static final Path CLASSES_ROOT =
             Paths.get("build", "classes", "java", "main");
+    private static final Path DEFAULT_TYPE_INDEX =
+            Paths.get("build", "relint", "type-index.bin");
+
+    private static final String LIBRARIES_OPTION = "--libraries=";
+    private static final String TYPE_INDEX_OPTION = "--type-index=";
+    private static final String THREADS_OPTION = "--threads=";
+    private static final String READ_THREADS_OPTION = "--read-threads=";
+    private static final String PARSE_THREADS_OPTION = "--parse-threads=";
+    private static final String CHECK_THREADS_OPTION = "--check-threads=";
+    private static final String QUEUE_SIZE_OPTION = "--queue-size=";
+    private static final String SPLIT_METHODS_OPTION = "--split-methods=";
+    private static final String INCLUDE_NESTED_OPTION = "--include-nested";
+    private static final int DEFAULT_QUEUE_SIZE = 64;
+    private static final int DEFAULT_SPLIT_METHODS = 512;
 
     public static void main(String[] args) {
         // 1. Validate CLI args
-        if (args.length < 1) {
-            System.err.println("Usage: java Linter <class-name|directory> [<class-name|directory> ...]");
+        List<String> inputs = new ArrayList<>();
+        List<Path> libraries = new ArrayList<>();
+        Path typeIndexFile = DEFAULT_TYPE_INDEX;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int readThreads = 0;
+        int parseThreads = 0;
+        int checkThreads = 0;
+        int queueSize = DEFAULT_QUEUE_SIZE;
+        int splitMethods = DEFAULT_SPLIT_METHODS;
+        boolean includeNested = false;
+        for (String arg : args) {
+            if (arg.startsWith(LIBRARIES_OPTION)) {
+                for (String library : arg.substring(LIBRARIES_OPTION.length()).split(File.pathSeparator)) {
+                    if (!library.isEmpty()) {
+                        libraries.add(Paths.get(library));
+                    }
+                }
+            } else if (arg.startsWith(TYPE_INDEX_OPTION)) {
+                String value = arg.substring(TYPE_INDEX_OPTION.length());
+                typeIndexFile = value.equals("none") ? null : Paths.get(value);
+            } else if (arg.startsWith(THREADS_OPTION)) {
+                threads = parseCount(THREADS_OPTION, arg);
+            } else if (arg.startsWith(READ_THREADS_OPTION)) {
+                readThreads = parseCount(READ_THREADS_OPTION, arg);
+            } else if (arg.startsWith(PARSE_THREADS_OPTION)) {
+                parseThreads = parseCount(PARSE_THREADS_OPTION, arg);
+            } else if (arg.startsWith(CHECK_THREADS_OPTION)) {
+                checkThreads = parseCount(CHECK_THREADS_OPTION, arg);
+            } else if (arg.startsWith(QUEUE_SIZE_OPTION)) {
+                queueSize = parseCount(QUEUE_SIZE_OPTION, arg);
+            } else if (arg.equals(INCLUDE_NESTED_OPTION)) {
+                includeNested = true;
+            } else if (arg.startsWith(SPLIT_METHODS_OPTION)) {
+                String value = arg.substring(SPLIT_METHODS_OPTION.length());
+                try {
+                    splitMethods = Integer.parseInt(value); // 0 or less turns splitting off
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid " + arg + ", using " + DEFAULT_SPLIT_METHODS);
+                }
+            } else {
+                inputs.add(arg);
+            }
+        }
+
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: java Linter [options] <class-name|directory|archive|pattern> [...]");
             System.err.println("  class-name: Fully qualified class name (e.g., com.example.MyClass)");
             System.err.println("  directory:  Path to directory containing .class files");
+            System.err.println("  archive:    Path to a .jar or .zip containing .class files");
+            System.err.println("  pattern:    Class-name glob (com.example.*, com.example.**) or glob:/regex: path pattern");
+            System.err.println("Options:");
+            System.err.println("  " + LIBRARIES_OPTION + "<path>" + File.pathSeparator + "...  Library jars to include in the type index");
+            System.err.println("  " + TYPE_INDEX_OPTION + "<file|none>  Type index location (default: " + DEFAULT_TYPE_INDEX + ")");
+            System.err.println("  " + THREADS_OPTION + "<n>  Worker threads per pipeline stage (default: number of cores)");
+            System.err.println("  " + READ_THREADS_OPTION + "<n>, " + PARSE_THREADS_OPTION + "<n>, "
+                    + CHECK_THREADS_OPTION + "<n>  Override " + THREADS_OPTION + " for one stage");
+            System.err.println("  " + INCLUDE_NESTED_OPTION + "  Also lint nested, local and anonymous classes");
+            System.err.println("  " + SPLIT_METHODS_OPTION + "<n|0>  Check the methods of classes with at least n methods in parallel (default: "
+                    + DEFAULT_SPLIT_METHODS + ", 0 disables)");
+            System.err.println("  " + QUEUE_SIZE_OPTION + "<n>  Classes queued between stages (default: " + DEFAULT_QUEUE_SIZE + ")");
             System.exit(1);
         }
 
         // 2. Wire up dependencies
         IClassParser asmParser = new ASMParser();
-        Parser parser = new Parser(asmParser);
-        List<Check> checks = CheckFactory.createChecks();
+        Parser parser = new Parser(new ASMParser(true));
+        TypeIndex typeIndex = openTypeIndex(typeIndexFile, libraries, asmParser);
+        List<Check> checks = CheckFactory.createChecks(new TypeHierarchy(asmParser, typeIndex));
         Linter linter = new Linter(parser, checks);
-        ClassFinder classFinder = new FileSystemClassFinder(CLASSES_ROOT);
+        linter.splitMethods(splitMethods);
+        ClassFinder classFinder = new FileSystemClassFinder(CLASSES_ROOT, includeNested,
+                readThreads > 0 ? readThreads : threads);
         Reporter reporter = new ConsoleReporter();
 
-        // 3. Discover classes from input
-        List<String> classNames;
+        LintPipeline pipeline = new LintPipeline(linter,
+                readThreads > 0 ? readThreads : threads,
+                parseThreads > 0 ? parseThreads : threads,
+                checkThreads > 0 ? checkThreads : threads,
+                queueSize);
+
+        // 3. Discover classes from input and lint them as they are found
+        int classCount;
         try {
-            classNames = classFinder.discoverClasses(args);
+            classCount = pipeline.run(classFinder, inputs.toArray(new String[0]), reporter);
         } catch (IOException e) {
             System.err.println("Error discovering classes: " + e.getMessage());
             System.exit(1);
             return;
         }
 
-        if (classNames.isEmpty()) {
+        if (classCount == 0) {
             System.err.println("No classes found to lint");
             System.exit(1);
         }
+    }
+
+    private static int parseCount(String option, String arg) {
+        String value = arg.substring(option.length());
+        try {
+            return Math.max(1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + option + value + ", using 1");
+            return 1;
+        }
+    }
 
-        // 4. Run the linter
-        linter.runMultiple(classNames, reporter);
+    /**
+     * Maps the type index, building it first if needed. Linting still works
+     * without one, it just reads supertypes from class files instead.
+     */
+    private static TypeIndex openTypeIndex(Path indexFile, List<Path> libraries, IClassParser parser) {
+        if (indexFile == null) {
+            return null;
+        }
+        try {
+            return TypeIndex.openOrBuild(indexFile, libraries, parser);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Type index unavailable, continuing without it: " + e.getMessage());
+            return null;
+        }
     }
 }
@@ -1,4 +1,5 @@
 import ClassFinder.ClassFinder;
+import ClassFinder.ClassLocation;
 import ClassFinder.FileSystemClassFinder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,7 +8,13 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -192,4 +199,125 @@ class ClassFinderTest {
 
         assertEquals(0, discovered.size());
     }
+
+    @Test
+    void testDiscoverLocations_directoryEntriesCarryClassFiles(@TempDir Path tempDir) throws IOException {
+        ClassFinder finder = new FileSystemClassFinder(tempDir);
+
+        Path packageDir = tempDir.resolve("com").resolve("example");
+        Files.createDirectories(packageDir);
+        Path classFile = packageDir.resolve("TestClass.class");
+        Files.createFile(classFile);
+
+        String[] args = {tempDir.toString(), "examples.PublicFieldExample"};
+
+        List<ClassLocation> discovered = finder.discoverLocations(args);
+
+        assertEquals(2, discovered.size());
+        assertEquals(ClassLocation.ofFile("com.example.TestClass", classFile.toAbsolutePath()), discovered.get(0));
+        assertEquals(ClassLocation.ofName("examples.PublicFieldExample"), discovered.get(1));
+        assertNull(discovered.get(1).getClassFile());
+    }
+
+    @Test
+    void testDiscoverLocations_jarEntriesInEntryOrder(@TempDir Path tempDir) throws IOException {
+        Path jar = tempDir.resolve("lib.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String name : List.of("com/example/B.class", "com/example/A.class", "com/example/A$Inner.class",
+                    "META-INF/versions/11/com/example/A.class", "module-info.class", "com/example/notes.txt")) {
+                out.putNextEntry(new ZipEntry(name));
+                out.write(new byte[]{(byte) 0xCA, (byte) 0xFE});
+                out.closeEntry();
+            }
+        }
+
+        List<ClassLocation> discovered = classFinder.discoverLocations(new String[]{jar.toString()});
+
+        Path archive = jar.toAbsolutePath();
+        assertEquals(List.of(
+                ClassLocation.ofArchiveEntry("com.example.B", archive, "com/example/B.class"),
+                ClassLocation.ofArchiveEntry("com.example.A", archive, "com/example/A.class")), discovered);
+        assertNull(discovered.get(0).getClassFile());
+    }
+
+    @Test
+    void testStreamLocations_expandsInputsOnlyWhenReached(@TempDir Path tempDir) throws IOException {
+        Path jar = tempDir.resolve("lib.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("com/example/A.class"));
+            out.closeEntry();
+        }
+        Path corrupt = tempDir.resolve("corrupt.jar");
+        Files.write(corrupt, new byte[]{1, 2, 3});
+        String[] args = {"examples.PublicFieldExample", jar.toString(), corrupt.toString()};
+
+        try (Stream<ClassLocation> locations = classFinder.streamLocations(args)) {
+            assertEquals(List.of(ClassLocation.ofName("examples.PublicFieldExample"),
+                            ClassLocation.ofArchiveEntry("com.example.A", jar.toAbsolutePath(), "com/example/A.class")),
+                    locations.limit(2).collect(Collectors.toList()));
+        }
+        assertThrows(IOException.class, () -> classFinder.discoverLocations(args));
+    }
+
+    @Test
+    void testDiscoverLocations_parallelWalkKeepsWalkOrder(@TempDir Path tempDir) throws IOException {
+        List<Path> expected = new ArrayList<>();
+        for (String pkg : List.of("a", "a/b", "a/b/c", "d", "d/e", "f")) {
+            Path dir = Files.createDirectories(tempDir.resolve(pkg));
+            for (int i = 0; i < 5; i++) {
+                Files.createFile(dir.resolve("C" + i + ".class"));
+            }
+            Files.createFile(dir.resolve("C0$Inner.class"));
+        }
+        try (Stream<Path> walk = Files.walk(tempDir)) {
+            walk.filter(p -> p.toString().endsWith(".class") && !p.getFileName().toString().contains("$"))
+                    .forEach(expected::add);
+        }
+
+        List<ClassLocation> discovered = new FileSystemClassFinder(tempDir, false, 4)
+                .discoverLocations(new String[]{tempDir.toString()});
+
+        assertEquals(expected, discovered.stream().map(ClassLocation::getClassFile).collect(Collectors.toList()));
+        assertEquals(0, discovered.get(0).getSize());
+    }
+
+    @Test
+    void testDiscoverLocations_includesNestedClassesWhenAsked(@TempDir Path tempDir) throws IOException {
+        Path packageDir = Files.createDirectories(tempDir.resolve("com").resolve("example"));
+        Files.createFile(packageDir.resolve("Outer.class"));
+        Files.createFile(packageDir.resolve("Outer$Inner.class"));
+
+        List<String> discovered = new FileSystemClassFinder(tempDir, true, 2)
+                .discoverClasses(new String[]{tempDir.toString()});
+
+        assertEquals(2, discovered.size());
+        assertTrue(discovered.contains("com.example.Outer$Inner"));
+    }
+
+    @Test
+    void testDiscoverLocations_matchesGlobAndRegexPatterns(@TempDir Path tempDir) throws IOException {
+        ClassFinder finder = new FileSystemClassFinder(tempDir);
+        for (String name : List.of("com/example/FooTest.class", "com/example/Bar.class",
+                "com/example/util/BazTest.class", "org/other/QuxTest.class")) {
+            Path file = tempDir.resolve(name);
+            Files.createDirectories(file.getParent());
+            Files.createFile(file);
+        }
+
+        assertEquals(List.of("com.example.Bar", "com.example.FooTest"),
+                sorted(finder.discoverClasses(new String[]{"com.example.*"})));
+        assertEquals(List.of("com.example.Bar", "com.example.FooTest", "com.example.util.BazTest"),
+                sorted(finder.discoverClasses(new String[]{"com.example.**"})));
+        assertEquals(List.of("com.example.FooTest", "com.example.util.BazTest", "org.other.QuxTest"),
+                sorted(finder.discoverClasses(new String[]{"regex:.*Test\\.class"})));
+        assertEquals(List.of("com.example.util.BazTest"),
+                finder.discoverClasses(new String[]{"glob:com/*/util/*.class"}));
+        assertTrue(finder.discoverClasses(new String[]{"com.missing.*"}).isEmpty());
+    }
+
+    private static List<String> sorted(List<String> names) {
+        List<String> copy = new ArrayList<>(names);
+        Collections.sort(copy);
+        return copy;
+    }
 }
@@ -0,0 +1,163 @@
+import BytecodeParser.ASM.ASMParser;
+import BytecodeParser.Compact.CompactParser;
+import BytecodeParser.ControlFlowGraph;
+import BytecodeParser.IClass;
+import BytecodeParser.IMethod;
+import BytecodeParser.Parser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControlFlowGraphTest {
+
+    private IClass sample;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sample = new Parser(new ASMParser()).parse("ControlFlowGraphTest$FlowSample");
+    }
+
+    @Test
+    void testGraph_isBuiltOncePerMethod() {
+        IMethod method = findMethod(sample, "straight");
+        assertSame(method.getControlFlowGraph(), method.getControlFlowGraph());
+    }
+
+    @Test
+    void testBlocks_partitionTheInstructions() {
+        for (IMethod method : sample.getMethods()) {
+            ControlFlowGraph cfg = method.getControlFlowGraph();
+            int size = method.getOpcodeArray().length;
+            assertEquals(0, cfg.getBlockStart(0));
+            assertEquals(size, cfg.getBlockEnd(cfg.getBlockCount() - 1));
+            for (int b = 0; b < cfg.getBlockCount(); b++) {
+                assertTrue(cfg.getBlockStart(b) < cfg.getBlockEnd(b));
+                for (int i = cfg.getBlockStart(b); i < cfg.getBlockEnd(b); i++) {
+                    assertEquals(b, cfg.getBlockOf(i));
+                }
+                for (int succ : cfg.getSuccessors(b)) {
+                    assertTrue(contains(cfg.getPredecessors(succ), b));
+                }
+            }
+        }
+
+        ControlFlowGraph straight = findMethod(sample, "straight").getControlFlowGraph();
+        assertEquals(1, straight.getBlockCount());
+        assertEquals(0, straight.getSuccessors(0).length);
+        assertEquals(0, straight.getLoopCount());
+    }
+
+    @Test
+    void testLoops_haveDominatingHeaderAndBackEdge() {
+        ControlFlowGraph loop = findMethod(sample, "loop").getControlFlowGraph();
+        assertEquals(1, loop.getLoopCount());
+        int header = loop.getLoopHeader(0);
+        boolean hasBackEdge = false;
+        for (int block : loop.getLoopBlocks(0)) {
+            assertTrue(loop.dominates(header, block));
+            assertEquals(1, loop.getLoopDepth(block));
+            hasBackEdge |= contains(loop.getSuccessors(block), header);
+        }
+        assertTrue(hasBackEdge);
+        assertEquals(0, loop.getLoopDepth(0));
+
+        ControlFlowGraph nested = findMethod(sample, "nested").getControlFlowGraph();
+        assertEquals(2, nested.getLoopCount());
+        int maxDepth = 0;
+        for (int b = 0; b < nested.getBlockCount(); b++) {
+            maxDepth = Math.max(maxDepth, nested.getLoopDepth(b));
+        }
+        assertEquals(2, maxDepth);
+    }
+
+    @Test
+    void testExceptionEdges_leadToHandler() {
+        IMethod guarded = findMethod(sample, "guarded");
+        ControlFlowGraph cfg = guarded.getControlFlowGraph();
+        int[] exceptionTable = guarded.getExceptionTable();
+        assertEquals(3, exceptionTable.length);
+
+        int handler = cfg.getBlockOf(exceptionTable[2]);
+        assertEquals(0, cfg.getPredecessors(handler).length);
+        assertTrue(cfg.getExceptionPredecessors(handler).length > 0);
+        for (int from : cfg.getExceptionPredecessors(handler)) {
+            assertTrue(contains(cfg.getExceptionSuccessors(from), handler));
+        }
+        assertTrue(cfg.isReachable(handler));
+        assertTrue(cfg.dominates(0, handler));
+        assertEquals(0, cfg.getLoopCount());
+    }
+
+    @Test
+    void testCompactParser_buildsSameGraph() throws IOException {
+        IClass compact = new Parser(new CompactParser()).parse("ControlFlowGraphTest$FlowSample");
+        for (int m = 0; m < sample.getMethods().size(); m++) {
+            IMethod expectedMethod = sample.getMethods().get(m);
+            IMethod actualMethod = compact.getMethods().get(m);
+            assertArrayEquals(expectedMethod.getExceptionTable(), actualMethod.getExceptionTable());
+
+            ControlFlowGraph expected = expectedMethod.getControlFlowGraph();
+            ControlFlowGraph actual = actualMethod.getControlFlowGraph();
+            assertEquals(expected.getBlockCount(), actual.getBlockCount());
+            for (int b = 0; b < expected.getBlockCount(); b++) {
+                assertEquals(expected.getBlockStart(b), actual.getBlockStart(b));
+                assertArrayEquals(expected.getSuccessors(b), actual.getSuccessors(b));
+                assertArrayEquals(expected.getExceptionSuccessors(b), actual.getExceptionSuccessors(b));
+                assertEquals(expected.getImmediateDominator(b), actual.getImmediateDominator(b));
+                assertEquals(expected.getLoopDepth(b), actual.getLoopDepth(b));
+            }
+            assertEquals(expected.getLoopCount(), actual.getLoopCount());
+        }
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static IMethod findMethod(IClass clazz, String name) {
+        return clazz.getMethods().stream()
+                .filter(m -> m.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    static class FlowSample {
+        int straight(int x) {
+            return x + 1;
+        }
+
+        int loop(int n) {
+            int sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += i;
+            }
+            return sum;
+        }
+
+        int nested(int[][] grid) {
+            int sum = 0;
+            for (int[] row : grid) {
+                for (int cell : row) {
+                    sum += cell;
+                }
+            }
+            return sum;
+        }
+
+        int guarded(String text) {
+            try {
+                return Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+import BytecodeParser.ASM.ASMParser;
+import BytecodeParser.Compact.CompactParser;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.IClass;
+import BytecodeParser.IDataflow;
+import BytecodeParser.IInstruction;
+import BytecodeParser.IMethod;
+import BytecodeParser.IOpcodes;
+import BytecodeParser.Parser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataflowTest {
+
+    private IClass sample;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sample = new Parser(new ASMParser()).parse("DataflowTest$DataflowSample");
+    }
+
+    @Test
+    void testDataflow_isComputedOncePerMethod() {
+        IMethod method = findMethod(sample, "reassigned");
+        assertSame(method.getDataflow(), method.getDataflow());
+    }
+
+    @Test
+    void testReachingDefinitions_linkLoadsToStores() {
+        IMethod method = findMethod(sample, "reassigned");
+        IDataflow dataflow = method.getDataflow();
+        List<IInstruction> insns = method.getInstructions();
+
+        int flagLoad = indexOf(method, IOpcodes.ILOAD, 1);
+        assertArrayEquals(new int[]{-1}, dataflow.getReachingDefinitions(flagLoad));
+
+        int valueLoad = indexOf(method, IOpcodes.ILOAD, 2);
+        int[] definitions = dataflow.getReachingDefinitions(valueLoad);
+        assertEquals(2, definitions.length);
+        for (int definition : definitions) {
+            assertEquals(IOpcodes.ISTORE, insns.get(definition).getOpcode());
+            assertArrayEquals(new int[]{valueLoad}, dataflow.getUses(definition));
+        }
+        assertEquals(0, dataflow.getReachingDefinitions(definitions[0]).length);
+    }
+
+    @Test
+    void testUses_areEmptyForDeadStores() {
+        IMethod method = findMethod(sample, "deadStore");
+        IDataflow dataflow = method.getDataflow();
+        int stores = 0;
+        for (int i = 0; i < method.getOpcodeArray().length; i++) {
+            if (method.getOpcodeArray()[i] == IOpcodes.ISTORE) {
+                assertEquals(0, dataflow.getUses(i).length);
+                stores++;
+            }
+        }
+        assertEquals(2, stores);
+    }
+
+    @Test
+    void testTypes_keepReferenceTypesThroughLocals() {
+        IMethod method = findMethod(sample, "receiver");
+        IDataflow dataflow = method.getDataflow();
+
+        int listSize = indexOf(method, IOpcodes.INVOKEVIRTUAL, -1);
+        assertEquals("Ljava/util/ArrayList;", dataflow.getReceiverType(listSize));
+        int[] receiverSources = dataflow.getStackSources(listSize, 0);
+        assertEquals(1, receiverSources.length);
+        assertEquals(IOpcodes.ALOAD, method.getOpcodeArray()[receiverSources[0]]);
+
+        int namesSize = indexOf(method, IOpcodes.INVOKEINTERFACE, -1);
+        assertEquals("Ljava/util/List;", dataflow.getReceiverType(namesSize));
+        assertEquals("LDataflowTest$DataflowSample;", dataflow.getLocalType(namesSize, 0));
+        assertNull(dataflow.getReceiverType(0));
+
+        IMethod merged = findMethod(sample, "merged");
+        int ret = indexOf(merged, IOpcodes.ARETURN, -1);
+        assertEquals("Ljava/lang/Object;", merged.getDataflow().getStackType(ret, 0));
+        assertTrue(merged.getDataflow().isReachable(ret));
+    }
+
+    @Test
+    void testCompactModel_matchesASMModel() throws IOException {
+        IClass compact = new Parser(new CompactParser()).parse("DataflowTest$DataflowSample");
+        assertEquals(sample.getMethods().size(), compact.getMethods().size());
+
+        for (int m = 0; m < sample.getMethods().size(); m++) {
+            IMethod expectedMethod = sample.getMethods().get(m);
+            IMethod actualMethod = compact.getMethods().get(m);
+            IDataflow expected = expectedMethod.getDataflow();
+            IDataflow actual = actualMethod.getDataflow();
+            String name = expectedMethod.getName();
+            assertArrayEquals(expectedMethod.getOpcodeArray(), actualMethod.getOpcodeArray(), name);
+
+            for (int i = 0; i < expectedMethod.getOpcodeArray().length; i++) {
+                String at = name + " @" + i;
+                assertEquals(expected.isReachable(i), actual.isReachable(i), at);
+                assertEquals(expected.getStackSize(i), actual.getStackSize(i), at);
+                for (int depth = 0; depth < expected.getStackSize(i); depth++) {
+                    assertEquals(expected.getStackType(i, depth), actual.getStackType(i, depth), at);
+                    assertArrayEquals(expected.getStackSources(i, depth), actual.getStackSources(i, depth), at);
+                }
+                if (expected.isReachable(i)) {
+                    assertEquals(expected.getLocalType(i, 0), actual.getLocalType(i, 0), at);
+                }
+                assertEquals(expected.getReceiverType(i), actual.getReceiverType(i), at);
+                assertArrayEquals(expected.getReachingDefinitions(i), actual.getReachingDefinitions(i), at);
+                assertArrayEquals(expected.getUses(i), actual.getUses(i), at);
+            }
+        }
+        assertSame(findMethod(compact, "operands").getDataflow(), findMethod(compact, "operands").getDataflow());
+    }
+
+    @Test
+    void testCompactModel_rereadsOnlyWhenAnalyzing() throws IOException {
+        byte[] bytes;
+        try (InputStream in = DataflowTest.class.getResourceAsStream("/DataflowTest$DataflowSample.class")) {
+            bytes = in.readAllBytes();
+        }
+        AtomicInteger reads = new AtomicInteger();
+        Parser compactParser = new Parser(new CompactParser());
+        IClass compact = compactParser.parse(bytes, DataRequirement.defaults(), () -> {
+            reads.incrementAndGet();
+            return bytes.clone();
+        });
+        assertEquals(0, reads.get());
+
+        IMethod method = findMethod(compact, "reassigned");
+        int valueLoad = indexOf(method, IOpcodes.ILOAD, 2);
+        IMethod expected = findMethod(sample, "reassigned");
+        assertArrayEquals(expected.getDataflow().getReachingDefinitions(valueLoad),
+                method.getDataflow().getReachingDefinitions(valueLoad));
+        assertSame(method.getDataflow(), method.getDataflow());
+        assertEquals(1, reads.get());
+
+        IClass withoutSource = compactParser.parse(bytes, DataRequirement.defaults());
+        assertThrows(UnsupportedOperationException.class,
+                () -> findMethod(withoutSource, "reassigned").getDataflow());
+    }
+
+    /**
+     * @return the first instruction with the opcode and, unless var is
+     *         -1, the local-variable operand
+     */
+    private static int indexOf(IMethod method, int opcode, int var) {
+        int[] opcodes = method.getOpcodeArray();
+        int[] vars = method.getVarIndexArray();
+        for (int i = 0; i < opcodes.length; i++) {
+            if (opcodes[i] == opcode && (var < 0 || vars[i] == var)) {
+                return i;
+            }
+        }
+        throw new AssertionError("no instruction with opcode " + opcode);
+    }
+
+    private static IMethod findMethod(IClass clazz, String name) {
+        return clazz.getMethods().stream()
+                .filter(m -> m.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    static class DataflowSample {
+        int reassigned(boolean flag) {
+            int value = 1;
+            if (flag) {
+                value = 2;
+            }
+            return value;
+        }
+
+        int deadStore(int x) {
+            int unused = x * 2;
+            unused = 3;
+            return x;
+        }
+
+        int receiver(List<String> names) {
+            ArrayList<String> list = new ArrayList<>(names);
+            return list.size() + names.size();
+        }
+
+        Object merged(boolean flag) {
+            Object result;
+            if (flag) {
+                result = "text";
+            } else {
+                result = Integer.valueOf(1);
+            }
+            return result;
+        }
+
+        int operands(int n) {
+            int[][] grid = new int[n][3];
+            String label = "grid";
+            for (int i = 0; i < n; i += 2) {
+                grid[i][0] = label.length();
+            }
+            return grid.length;
+        }
+    }
+}
@@ -1,14 +1,37 @@
 import BytecodeParser.ASM.ASMParser;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.Compact.CompactParser;
+import BytecodeParser.DataRequirement;
 import BytecodeParser.IClass;
+import BytecodeParser.IClassListener;
 import BytecodeParser.IClassParser;
+import BytecodeParser.IMethod;
 import BytecodeParser.Parser;
 import Checks.Check;
+import Checks.CheckFactory;
+import Checks.EmptyMethodCheck;
+import Checks.GodClassCheck;
+import Checks.MethodCheck;
+import Checks.NamingConventionCheck;
+import Checks.PublicFieldCheck;
+import Checks.StreamingCheck;
+import ClassFinder.ClassLocation;
 import Reporting.Reporter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -160,8 +183,314 @@ class LinterTest {
         assertEquals(0, mockReporter.getReports().size());
     }
 
+    @Test
+    void testLinter_streamingChecksShareOnePass() {
+        List<String> classNames = List.of("examples.PublicFieldExample");
+
+        MethodCountingCheck first = new MethodCountingCheck();
+        MethodCountingCheck second = new MethodCountingCheck();
+        Linter linter = new Linter(parser, List.of(first, second));
+
+        linter.runMultiple(classNames, mockReporter);
+
+        // Each check reports once per class, in check order
+        assertEquals(2, mockReporter.getReports().size());
+        assertEquals(mockReporter.getReports().get(0), mockReporter.getReports().get(1));
+        assertTrue(mockReporter.getReports().get(0).startsWith("examples/PublicFieldExample: methods="));
+        assertFalse(mockReporter.getReports().get(0).endsWith("methods=0"));
+    }
+
+    @Test
+    void testLinter_headerOnlyChecksSkipMethodBodies() {
+        List<String> classNames = List.of("examples.MagicNumbersExample");
+
+        InstructionCountingCheck counter = new InstructionCountingCheck(DataRequirement.headerOnly());
+        Linter linter = new Linter(parser, List.of(
+                new NamingConventionCheck(), new PublicFieldCheck(), new GodClassCheck(), counter));
+
+        linter.runMultiple(classNames, mockReporter);
+
+        assertTrue(mockReporter.getReports().contains("examples/MagicNumbersExample: instructions=0"));
+    }
+
+    @Test
+    void testLinter_codeRequirementDecodesMethodBodies() {
+        List<String> classNames = List.of("examples.MagicNumbersExample");
+
+        InstructionCountingCheck counter = new InstructionCountingCheck(EnumSet.of(DataRequirement.CODE));
+        Linter linter = new Linter(parser, List.of(new NamingConventionCheck(), counter));
+
+        linter.runMultiple(classNames, mockReporter);
+
+        assertFalse(mockReporter.getReports().contains("examples/MagicNumbersExample: instructions=0"));
+    }
+
+    @Test
+    void testRunLocations_readsClassFilesDirectly(@TempDir Path tempDir) throws IOException {
+        Path classFile = tempDir.resolve("Copied.class");
+        try (InputStream in = LinterTest.class.getResourceAsStream("/examples/PublicFieldExample.class")) {
+            Files.copy(in, classFile);
+        }
+
+        Linter linter = new Linter(parser, List.of(new PublicFieldCheck()));
+        linter.runLocations(List.of(ClassLocation.ofFile("examples.PublicFieldExample", classFile)), mockReporter);
+
+        assertEquals(1, mockReporter.getReports().size());
+        assertTrue(mockReporter.getReports().get(0).startsWith("examples/PublicFieldExample: Field 'badField'"));
+    }
+
+    @Test
+    void testRunLocations_skipsChecksWhosePreconditionFails(@TempDir Path tempDir) throws IOException {
+        Path classFile = tempDir.resolve("Copied.class");
+        try (InputStream in = LinterTest.class.getResourceAsStream("/examples/PublicFieldExample.class")) {
+            Files.copy(in, classFile);
+        }
+        List<ClassLocation> locations = List.of(ClassLocation.ofFile("examples.PublicFieldExample", classFile));
+
+        SkippableCheck skipped = new SkippableCheck(false);
+        Linter linter = new Linter(parser, List.of(skipped, new PublicFieldCheck()));
+        linter.runLocations(locations, mockReporter);
+        assertEquals(0, skipped.listeners);
+        assertEquals(1, mockReporter.getReports().size());
+
+        SkippableCheck applied = new SkippableCheck(true);
+        new Linter(parser, List.of(applied)).runLocations(locations, mockReporter);
+        assertEquals(1, applied.listeners);
+    }
+
+    @Test
+    void testRunMultiple_parallelKeepsSequentialOrder() {
+        List<String> classNames = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            classNames.addAll(List.of("examples.ComprehensiveExample", "examples.MagicNumbersExample",
+                    "examples.Missing", "examples.UnusedVariablesExample", "examples.PublicFieldExample"));
+        }
+        List<Check> checks = CheckFactory.createChecks();
+
+        new Linter(parser, checks).runMultiple(classNames, mockReporter);
+        MockReporter parallel = new MockReporter();
+        new Linter(parser, checks).runMultiple(classNames, parallel, 4);
+
+        assertFalse(mockReporter.getReports().isEmpty());
+        assertEquals(mockReporter.getReports(), parallel.getReports());
+    }
+
+    @Test
+    void testPipeline_matchesSequentialOrderWithSmallQueues() throws IOException {
+        List<String> classNames = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            classNames.addAll(List.of("examples.ComprehensiveExample", "examples.MagicNumbersExample",
+                    "examples.Missing", "examples.UnusedVariablesExample", "examples.PublicFieldExample"));
+        }
+        List<ClassLocation> locations = new ArrayList<>();
+        for (String className : classNames) {
+            locations.add(ClassLocation.ofName(className));
+        }
+        List<Check> checks = CheckFactory.createChecks();
+
+        new Linter(parser, checks).runMultiple(classNames, mockReporter);
+        MockReporter piped = new MockReporter();
+        int count = new LintPipeline(new Linter(parser, checks), 2, 3, 2, 1)
+                .run(inputs -> locations.stream(), new String[0], piped);
+
+        assertEquals(classNames.size(), count);
+        assertFalse(mockReporter.getReports().isEmpty());
+        assertEquals(mockReporter.getReports(), piped.getReports());
+    }
+
+    @Test
+    void testPipeline_rethrowsDiscoveryFailure() {
+        LintPipeline pipeline = new LintPipeline(new Linter(parser, List.of(new MockCheck())), 1, 1, 1, 4);
+        IOException e = assertThrows(IOException.class, () -> pipeline.run(inputs -> {
+            throw new IOException("unreadable");
+        }, new String[0], mockReporter));
+        assertEquals("unreadable", e.getMessage());
+        assertTrue(mockReporter.getReports().isEmpty());
+    }
+
+    @Test
+    void testSplitMethods_keepsSequentialOrder() {
+        List<String> classNames = List.of("examples.GodClassExample", "examples.ComprehensiveExample",
+                "examples.UnusedVariablesExample", "examples.NestedIfExample");
+        List<Check> checks = CheckFactory.createChecks();
+
+        new Linter(parser, checks).runMultiple(classNames, mockReporter);
+        MockReporter split = new MockReporter();
+        Linter splitting = new Linter(parser, checks);
+        splitting.splitMethods(1);
+        splitting.runMultiple(classNames, split);
+
+        assertFalse(mockReporter.getReports().isEmpty());
+        assertEquals(mockReporter.getReports(), split.getReports());
+    }
+
+    @Test
+    void testMethodChunks_mergeInDeclarationOrderAndStopAtFailure() throws IOException {
+        IClass godClass = parser.parse("examples.GodClassExample");
+        List<Check> checks = List.of(new EmptyMethodCheck(), new PublicFieldCheck(), new FailingMethodCheck("method7"));
+
+        MethodChunks chunks = MethodChunks.run(godClass, checks, 2);
+        MockReporter chunked = new MockReporter();
+        chunks.flush(0, "examples.GodClassExample", chunked);
+        chunks.flush(2, "examples.GodClassExample", chunked);
+
+        MockReporter single = new MockReporter();
+        for (Check check : List.of(checks.get(0), checks.get(2))) {
+            if (!check.apply(godClass, single)) {
+                single.report("examples.GodClassExample", "Check failed: " + check.getClass().getSimpleName());
+            }
+        }
+        assertEquals(single.getReports(), chunked.getReports());
+        assertTrue(chunked.getReports().get(chunked.getReports().size() - 1)
+                .endsWith("Check failed: FailingMethodCheck"));
+    }
+
+    @Test
+    void testPipeline_rethrowsErrorAfterReportingEveryClass() {
+        List<ClassLocation> locations = List.of(ClassLocation.ofName("examples.PublicFieldExample"),
+                ClassLocation.ofName("examples.MagicNumbersExample"),
+                ClassLocation.ofName("examples.GodClassExample"));
+        LintPipeline pipeline = new LintPipeline(
+                new Linter(parser, List.of(new ReportingCheck(), new ErrorCheck("examples/MagicNumbersExample"))),
+                2, 2, 2, 1);
+
+        StackOverflowError e = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(StackOverflowError.class,
+                        () -> pipeline.run(inputs -> locations.stream(), new String[0], mockReporter)));
+
+        assertEquals("too deep", e.getMessage());
+        List<String> reports = mockReporter.getReports();
+        assertEquals(4, reports.size());
+        assertEquals("examples/PublicFieldExample: Check executed", reports.get(0));
+        assertEquals("examples/MagicNumbersExample: Check executed", reports.get(1));
+        assertTrue(reports.get(2).startsWith("examples.MagicNumbersExample: Failed to lint class: java.lang.StackOverflowError"));
+        assertEquals("examples/GodClassExample: Check executed", reports.get(3));
+    }
+
+    @Test
+    void testParallelRun_rethrowsErrorAfterReportingEveryClass() {
+        List<String> classNames = List.of("examples.PublicFieldExample", "examples.MagicNumbersExample",
+                "examples.GodClassExample", "examples.NestedIfExample");
+        Linter linter = new Linter(parser, List.of(new ReportingCheck(), new ErrorCheck("examples/MagicNumbersExample")));
+
+        StackOverflowError e = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(StackOverflowError.class, () -> linter.runMultiple(classNames, mockReporter, 2)));
+
+        assertEquals("too deep", e.getMessage());
+        List<String> reports = mockReporter.getReports();
+        assertEquals(5, reports.size());
+        assertEquals("examples/PublicFieldExample: Check executed", reports.get(0));
+        assertEquals("examples/MagicNumbersExample: Check executed", reports.get(1));
+        assertTrue(reports.get(2).startsWith("examples.MagicNumbersExample: Failed to lint class: java.lang.StackOverflowError"));
+        assertEquals("examples/GodClassExample: Check executed", reports.get(3));
+        assertEquals("examples/NestedIfExample: Check executed", reports.get(4));
+    }
+
+    @Test
+    void testLongestFirst_ordersBySizeKeepingTiesInInputOrder(@TempDir Path tempDir) throws IOException {
+        Path archive = tempDir.resolve("classes.jar");
+        Path classFile = tempDir.resolve("Big.class");
+        Files.write(classFile, new byte[25]);
+
+        int[] order = LongestFirst.order(List.of(
+                ClassLocation.ofArchiveEntry("A", archive, "A.class", 10),
+                ClassLocation.ofArchiveEntry("B", archive, "B.class", 30),
+                ClassLocation.ofName("C"),
+                ClassLocation.ofArchiveEntry("D", archive, "D.class", 30),
+                ClassLocation.ofFile("Big", classFile)));
+
+        assertArrayEquals(new int[]{1, 3, 4, 0, 2}, order);
+    }
+
+    @Test
+    void testRunLocations_readsArchiveEntries(@TempDir Path tempDir) throws IOException {
+        Path archive = tempDir.resolve("examples.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(archive))) {
+            for (String name : List.of("examples/PublicFieldExample.class", "examples/MagicNumbersExample.class")) {
+                out.putNextEntry(new ZipEntry(name));
+                try (InputStream in = LinterTest.class.getResourceAsStream("/" + name)) {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+        }
+
+        Linter linter = new Linter(parser, List.of(new PublicFieldCheck()));
+        linter.runLocations(List.of(
+                ClassLocation.ofArchiveEntry("examples.PublicFieldExample", archive, "examples/PublicFieldExample.class"),
+                ClassLocation.ofArchiveEntry("examples.Missing", archive, "examples/Missing.class")), mockReporter);
+
+        assertEquals(2, mockReporter.getReports().size());
+        assertTrue(mockReporter.getReports().get(0).startsWith("examples/PublicFieldExample: Field 'badField'"));
+        assertTrue(mockReporter.getReports().get(1).startsWith("examples.Missing: Failed to parse"));
+    }
+
+    @Test
+    void testRunLocations_withMissingClassFile(@TempDir Path tempDir) {
+        Path classFile = tempDir.resolve("Missing.class");
+
+        Linter linter = new Linter(parser, List.of(new PublicFieldCheck()));
+        linter.runLocations(List.of(ClassLocation.ofFile("com.example.Missing", classFile)), mockReporter);
+
+        assertEquals(1, mockReporter.getReports().size());
+        String msg = mockReporter.getReports().get(0);
+        assertTrue(msg.startsWith("com.example.Missing: Failed to parse"));
+    }
+
+    @Test
+    void testCompactParser_reportsSameAsASM() {
+        List<String> classNames = List.of("examples.ComprehensiveExample", "examples.GodClassExample",
+                "examples.MagicNumbersExample", "examples.NamingConventionExample", "examples.NestedIfExample",
+                "examples.RedundantExample", "examples.UnusedVariablesExample");
+
+        new Linter(parser, CheckFactory.createChecks()).runMultiple(classNames, mockReporter);
+        MockReporter compactReporter = new MockReporter();
+        new Linter(new Parser(new CompactParser()), CheckFactory.createChecks()).runMultiple(classNames, compactReporter);
+
+        assertFalse(mockReporter.getReports().isEmpty());
+        assertEquals(mockReporter.getReports(), compactReporter.getReports());
+    }
+
     // Mock classes for testing
 
+    /**
+     * Reports every method it sees and throws on the named one.
+     */
+    private static class FailingMethodCheck implements MethodCheck {
+        private final String failOn;
+
+        FailingMethodCheck(String failOn) {
+            this.failOn = failOn;
+        }
+
+        @Override
+        public void checkMethod(String className, IMethod method, Reporter reporter) {
+            if (method.getName().equals(failOn)) {
+                throw new IllegalStateException("cannot check " + failOn);
+            }
+            reporter.report(className, "Saw " + method.getName());
+        }
+    }
+
+    /**
+     * Throws an Error, as a runaway recursion would, on the named class.
+     */
+    private static class ErrorCheck implements Check {
+        private final String className;
+
+        ErrorCheck(String className) {
+            this.className = className;
+        }
+
+        @Override
+        public boolean apply(IClass clazz, Reporter reporter) {
+            if (clazz.getClassName().equals(className)) {
+                throw new StackOverflowError("too deep");
+            }
+            return true;
+        }
+    }
+
     private static class MockReporter implements Reporter {
         private final List<String> reports = new ArrayList<>();
 
@@ -206,4 +535,86 @@ class LinterTest {
             throw new RuntimeException("Test exception");
         }
     }
+
+    private static class MethodCountingCheck implements StreamingCheck {
+        @Override
+        public IClassListener createListener(Reporter reporter) {
+            return new IClassListener() {
+                private String className;
+                private int methods;
+
+                @Override
+                public void visitClass(String name, String superClassName, List<String> interfaces) {
+                    className = name;
+                }
+
+                @Override
+                public void visitMethod(IMethod method) {
+                    methods++;
+                }
+
+                @Override
+                public void visitEnd() {
+                    reporter.report(className, "methods=" + methods);
+                }
+            };
+        }
+    }
+
+    private static class SkippableCheck implements StreamingCheck {
+        private final boolean applies;
+        int listeners;
+
+        SkippableCheck(boolean applies) {
+            this.applies = applies;
+        }
+
+        @Override
+        public boolean appliesTo(ClassSummary summary) {
+            return applies;
+        }
+
+        @Override
+        public IClassListener createListener(Reporter reporter) {
+            listeners++;
+            return new IClassListener() {
+            };
+        }
+    }
+
+    private static class InstructionCountingCheck implements StreamingCheck {
+        private final Set<DataRequirement> requirements;
+
+        InstructionCountingCheck(Set<DataRequirement> requirements) {
+            this.requirements = requirements;
+        }
+
+        @Override
+        public Set<DataRequirement> requirements() {
+            return requirements;
+        }
+
+        @Override
+        public IClassListener createListener(Reporter reporter) {
+            return new IClassListener() {
+                private String className;
+                private int instructions;
+
+                @Override
+                public void visitClass(String name, String superClassName, List<String> interfaces) {
+                    className = name;
+                }
+
+                @Override
+                public void visitMethod(IMethod method) {
+                    instructions += method.getInstructions().size();
+                }
+
+                @Override
+                public void visitEnd() {
+                    reporter.report(className, "instructions=" + instructions);
+                }
+            };
+        }
+    }
 }
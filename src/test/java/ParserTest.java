@@ -0,0 +1,617 @@
+import BytecodeParser.ASM.ASMParser;
+import BytecodeParser.ClassSummary;
+import BytecodeParser.Compact.CompactParser;
+import BytecodeParser.ConstantTable;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.DynamicConstant;
+import BytecodeParser.IClass;
+import BytecodeParser.IClassHeader;
+import BytecodeParser.IClassParser;
+import BytecodeParser.IInstruction;
+import BytecodeParser.IInstructionCursor;
+import BytecodeParser.IMethod;
+import BytecodeParser.IOpcodes;
+import BytecodeParser.InvokeDynamicInfo;
+import BytecodeParser.ParseArena;
+import BytecodeParser.Parser;
+import BytecodeParser.SymbolTable;
+import BytecodeParser.TypeConstant;
+import org.junit.jupiter.api.BeforeEach;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.ConstantDynamic;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParserTest {
+
+    private Parser parser;
+
+    @BeforeEach
+    void setUp() {
+        IClassParser asmParser = new ASMParser();
+        parser = new Parser(asmParser);
+    }
+
+    @Test
+    void testModelViews_areBuiltOnce() throws IOException {
+        IClass clazz = parser.parse("examples.MagicNumbersExample");
+
+        assertSame(clazz.getMethods(), clazz.getMethods());
+        assertSame(clazz.getFields(), clazz.getFields());
+
+        IMethod method = clazz.getMethods().get(0);
+        assertSame(method.getInstructions(), method.getInstructions());
+        assertSame(method.getOpcodes(), method.getOpcodes());
+        assertSame(method.getLocalVariables(), method.getLocalVariables());
+    }
+
+    @Test
+    void testModelViews_areUnmodifiable() throws IOException {
+        IClass clazz = parser.parse("examples.MagicNumbersExample");
+        List<IMethod> methods = clazz.getMethods();
+
+        assertThrows(UnsupportedOperationException.class, () -> methods.remove(0));
+        assertThrows(UnsupportedOperationException.class,
+                () -> methods.get(0).getInstructions().clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> clazz.getDirectInterfaces().add("java/lang/Runnable"));
+    }
+
+    @Test
+    void testPrimitiveArrays_matchInstructionList() throws IOException {
+        IClass clazz = parser.parse("examples.UnusedVariablesExample");
+
+        for (IMethod method : clazz.getMethods()) {
+            int[] opcodes = method.getOpcodeArray();
+            int[] varIndices = method.getVarIndexArray();
+            assertEquals(method.getInstructions().size(), opcodes.length);
+            assertEquals(opcodes.length, varIndices.length);
+
+            for (int i = 0; i < opcodes.length; i++) {
+                assertEquals(method.getOpcodes().get(i).intValue(), opcodes[i]);
+                Integer varIndex = method.getInstructions().get(i).getVarIndex();
+                if (varIndex != null) {
+                    assertEquals(varIndex.intValue(), varIndices[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testConstantTable_holdsNumericPushes() throws IOException {
+        IMethod init = findMethod(parser.parse("examples.MagicNumbersExample"), "<init>");
+
+        ConstantTable constants = init.getConstantTable();
+
+        // private int magicNum = 123; private int zero = 0;
+        assertEquals(2, constants.size());
+        assertEquals(ConstantTable.INT, constants.getKind(0));
+        assertEquals(123L, constants.getLong(0));
+        assertEquals(0L, constants.getLong(1));
+        assertEquals(Integer.valueOf(123), constants.getValue(0));
+        assertEquals(IOpcodes.BIPUSH, init.getOpcodeArray()[constants.getInstructionIndex(0)]);
+    }
+
+    @Test
+    void testJumpTargets_areResolvedToLabelIndices() throws IOException {
+        IMethod method = findMethod(parser.parse("examples.NestedIfExample"), "deep");
+        int[] opcodes = method.getOpcodeArray();
+        int[] targets = method.getJumpTargetArray();
+        List<IInstruction> instructions = method.getInstructions();
+
+        int jumps = 0;
+        for (int i = 0; i < opcodes.length; i++) {
+            if (targets[i] < 0) continue;
+            jumps++;
+            // Targets land on the label the jump refers to
+            assertEquals(-1, opcodes[targets[i]]);
+            assertEquals(targets[i], instructions.get(i).getJumpTargetIndex());
+            assertSame(instructions.get(i).getJumpLabel(), instructions.get(targets[i]).getJumpLabel());
+        }
+        assertEquals(4, jumps);
+    }
+
+    @Test
+    void testSwitchTargets_includeDefaultAndCases() throws IOException {
+        IMethod method = findMethod(parser.parse("ParserTest$SwitchSample"), "describe");
+        int[] opcodes = method.getOpcodeArray();
+
+        int switches = 0;
+        for (int i = 0; i < opcodes.length; i++) {
+            int[] targets = method.getSwitchTargets(i);
+            if (opcodes[i] == IOpcodes.TABLESWITCH) {
+                switches++;
+                assertEquals(4, targets.length);
+                for (int target : targets) {
+                    assertTrue(target > i);
+                    assertEquals(-1, opcodes[target]);
+                }
+            } else {
+                assertNull(targets);
+            }
+        }
+        assertEquals(1, switches);
+    }
+
+    @Test
+    void testCursor_matchesPrimitiveArrays() throws IOException {
+        IClass clazz = parser.parse("examples.ComprehensiveExample");
+
+        for (IMethod method : clazz.getMethods()) {
+            int[] opcodes = method.getOpcodeArray();
+            int[] varIndices = method.getVarIndexArray();
+            int[] targets = method.getJumpTargetArray();
+            ConstantTable constants = method.getConstantTable();
+
+            IInstructionCursor cursor = method.cursor();
+            int entry = 0;
+            int count = 0;
+            while (cursor.next()) {
+                int i = cursor.getIndex();
+                assertEquals(count++, i);
+                assertEquals(opcodes[i], cursor.getOpcode());
+                assertEquals(varIndices[i], cursor.getVarIndex());
+                assertEquals(targets[i], cursor.getJumpTargetIndex());
+
+                if (entry < constants.size() && constants.getInstructionIndex(entry) == i) {
+                    assertEquals(constants.getKind(entry), cursor.getConstantKind());
+                    assertEquals(constants.getLong(entry), cursor.getLongValue());
+                    assertEquals(constants.getDouble(entry), cursor.getDoubleValue());
+                    entry++;
+                } else {
+                    assertEquals(ConstantTable.NONE, cursor.getConstantKind());
+                }
+            }
+            assertEquals(opcodes.length, count);
+            assertEquals(constants.size(), entry);
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    void testParse_fromBytesAndBuffers() throws IOException {
+        byte[] bytes;
+        try (InputStream in = ParserTest.class.getResourceAsStream("/examples/PublicFieldExample.class")) {
+            bytes = in.readAllBytes();
+        }
+
+        IClass fromBytes = parser.parse(bytes, DataRequirement.defaults());
+        assertEquals("examples/PublicFieldExample", fromBytes.getClassName());
+
+        // A heap buffer that does not start at offset 0
+        ByteBuffer padded = ByteBuffer.allocate(bytes.length + 8);
+        padded.position(8);
+        padded.put(bytes);
+        padded.position(8);
+        IClass fromBuffer = parser.parse(padded.slice(), DataRequirement.defaults());
+        assertEquals(fromBytes.getFields().size(), fromBuffer.getFields().size());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        IClass fromDirect = parser.parse(direct, DataRequirement.headerOnly());
+        assertEquals("examples/PublicFieldExample", fromDirect.getClassName());
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    void testParseHeader_matchesFullParse() throws IOException {
+        IClass full = parser.parse("examples.RedundantExample");
+        IClassHeader header = parser.parseHeader("examples/RedundantExample");
+
+        assertEquals(full.getClassName(), header.getClassName());
+        assertEquals(full.getSuperClassName(), header.getSuperClassName());
+        assertEquals(full.getDirectInterfaces(), header.getDirectInterfaces());
+
+        assertNull(parser.parseHeader("java/lang/Object").getSuperClassName());
+        assertTrue(parser.parseHeader("java/lang/String").getDirectInterfaces().contains("java/io/Serializable"));
+    }
+
+    @Test
+    void testLazyParser_decodesSameBodiesOnDemand() throws IOException {
+        byte[] bytes;
+        try (InputStream in = ParserTest.class.getResourceAsStream("/examples/UnusedVariablesExample.class")) {
+            bytes = in.readAllBytes();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.clone());
+
+        IClass eager = parser.parse(bytes, DataRequirement.defaults());
+        IClass lazy = new ASMParser(true).parse(buffer, DataRequirement.defaults());
+        // The lazy class must not depend on the caller's buffer after parse()
+        buffer.put(0, (byte) 0).put(1, (byte) 0);
+
+        assertEquals(eager.getClassName(), lazy.getClassName());
+        assertEquals(eager.getFields().size(), lazy.getFields().size());
+        assertEquals(eager.getMethods().size(), lazy.getMethods().size());
+
+        // Visit the methods back to front so bodies are decoded out of order
+        for (int m = eager.getMethods().size() - 1; m >= 0; m--) {
+            IMethod expected = eager.getMethods().get(m);
+            IMethod actual = lazy.getMethods().get(m);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getDescriptor(), actual.getDescriptor());
+            assertArrayEquals(expected.getOpcodeArray(), actual.getOpcodeArray());
+            assertArrayEquals(expected.getJumpTargetArray(), actual.getJumpTargetArray());
+            assertEquals(expected.getLocalVariables().size(), actual.getLocalVariables().size());
+            for (int v = 0; v < expected.getLocalVariables().size(); v++) {
+                assertEquals(expected.getLocalVariables().get(v).getName(), actual.getLocalVariables().get(v).getName());
+            }
+            assertSame(actual.getInstructions(), actual.getInstructions());
+        }
+    }
+
+    @Test
+    void testLazyParser_decodesOnlyTheRequestedBody() {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, "example/LazySample", null, "java/lang/Object", null);
+        MethodVisitor good = writer.visitMethod(Opcodes.ACC_STATIC, "good", "()V", null, null);
+        good.visitCode();
+        good.visitInsn(Opcodes.RETURN);
+        good.visitMaxs(0, 0);
+        good.visitEnd();
+        // A body ClassReader cannot decode: 0xFE is a reserved opcode.
+        MethodVisitor broken = writer.visitMethod(Opcodes.ACC_STATIC, "broken", "()V", null, null);
+        broken.visitCode();
+        broken.visitInsn(0xFE);
+        broken.visitMaxs(0, 0);
+        broken.visitEnd();
+        writer.visitEnd();
+
+        IClass lazy = new ASMParser(true).parse(writer.toByteArray(), DataRequirement.defaults());
+        IMethod goodMethod = lazy.getMethods().get(0);
+        IMethod brokenMethod = lazy.getMethods().get(1);
+
+        assertEquals("broken", brokenMethod.getName());
+        assertArrayEquals(new int[]{IOpcodes.RETURN}, goodMethod.getOpcodeArray());
+        assertThrows(RuntimeException.class, brokenMethod::getInstructions);
+    }
+
+    @Test
+    void testCompactParser_matchesASMModel() throws IOException {
+        Parser compact = new Parser(new CompactParser());
+        for (String className : List.of("examples.MagicNumbersExample", "examples.NestedIfExample",
+                "examples.UnusedVariablesExample", "examples.ComprehensiveExample", "ParserTest$SwitchSample",
+                "ParserTest$OperandSample")) {
+            IClass expected = parser.parse(className);
+            IClass actual = compact.parse(className);
+
+            assertEquals(expected.getClassName(), actual.getClassName());
+            assertEquals(expected.getSuperClassName(), actual.getSuperClassName());
+            assertEquals(expected.getDirectInterfaces(), actual.getDirectInterfaces());
+            assertEquals(expected.getFields().size(), actual.getFields().size());
+            for (int f = 0; f < expected.getFields().size(); f++) {
+                assertEquals(expected.getFields().get(f).getName(), actual.getFields().get(f).getName());
+                assertEquals(expected.getFields().get(f).isPublic(), actual.getFields().get(f).isPublic());
+            }
+
+            assertEquals(expected.getMethods().size(), actual.getMethods().size());
+            for (int m = 0; m < expected.getMethods().size(); m++) {
+                assertSameMethod(expected.getMethods().get(m), actual.getMethods().get(m));
+            }
+        }
+    }
+
+    @Test
+    void testParseArena_reusesBufferAcrossClasses() throws IOException {
+        ParseArena arena = ParseArena.current();
+        assertSame(arena, ParseArena.current());
+
+        ByteBuffer first;
+        try (InputStream in = ParserTest.class.getResourceAsStream("/examples/GodClassExample.class")) {
+            first = arena.read(in);
+        }
+        try {
+            assertThrows(IllegalStateException.class, () -> arena.read(InputStream.nullInputStream()));
+            assertEquals("examples/GodClassExample", parser.parse(first, DataRequirement.headerOnly()).getClassName());
+        } finally {
+            arena.release();
+        }
+        int capacity = arena.capacity();
+
+        ByteBuffer second;
+        try (InputStream in = ParserTest.class.getResourceAsStream("/examples/PublicFieldExample.class")) {
+            second = arena.read(in);
+        }
+        try {
+            assertSame(first.array(), second.array());
+            assertEquals(capacity, arena.capacity());
+            assertEquals("examples/PublicFieldExample", parser.parse(second, DataRequirement.headerOnly()).getClassName());
+        } finally {
+            arena.release();
+        }
+    }
+
+    @Test
+    void testSymbolTable_givesWellKnownNamesFixedIds() throws IOException {
+        SymbolTable symbols = SymbolTable.global();
+        assertEquals(SymbolTable.INIT, symbols.intern("<init>"));
+        assertEquals(SymbolTable.CLINIT, symbols.find("<clinit>"));
+        assertEquals("java/lang/Object", symbols.name(SymbolTable.JAVA_LANG_OBJECT));
+
+        String name = new String("someMethodName");
+        int id = symbols.intern(name);
+        assertEquals(id, symbols.intern("someMethodName"));
+        assertSame(symbols.name(id), symbols.canonical(new String("someMethodName")));
+
+        for (Parser backend : List.of(parser, new Parser(new CompactParser()))) {
+            IClass clazz = backend.parse("examples.MagicNumbersExample");
+            IMethod init = findMethod(clazz, "<init>");
+            assertEquals(SymbolTable.INIT, init.getNameId());
+            assertEquals(SymbolTable.VOID_DESCRIPTOR, init.getDescriptorId());
+            assertEquals(symbols.intern("examples/MagicNumbersExample"), clazz.getClassNameId());
+            for (IMethod method : clazz.getMethods()) {
+                assertEquals(method.getName(), symbols.name(method.getNameId()));
+            }
+        }
+    }
+
+    @Test
+    void testOperands_exposeMemberTypeAndCallSiteReferences() throws IOException {
+        SymbolTable symbols = SymbolTable.global();
+        for (Parser backend : List.of(parser, new Parser(new CompactParser()))) {
+            IMethod method = findMethod(backend.parse("ParserTest$OperandSample"), "run");
+
+            IInstruction newList = find(method, IOpcodes.NEW);
+            assertEquals("java/util/ArrayList", newList.getTypeOperand());
+            assertNull(newList.getOwner());
+
+            IInstruction getField = find(method, IOpcodes.GETFIELD);
+            assertEquals("ParserTest$OperandSample", getField.getOwner());
+            assertEquals("count", getField.getMemberName());
+            assertEquals("I", getField.getMemberDescriptor());
+            assertNull(getField.getTypeOperand());
+
+            IInstruction staticCall = find(method, IOpcodes.INVOKESTATIC);
+            assertEquals("java/lang/Integer", staticCall.getOwner());
+            assertEquals("valueOf", staticCall.getMemberName());
+            assertSame(symbols.name(SymbolTable.VALUE_OF), staticCall.getMemberName());
+
+            assertEquals("java/lang/String", find(method, IOpcodes.CHECKCAST).getTypeOperand());
+            assertEquals("java/lang/Number", find(method, IOpcodes.INSTANCEOF).getTypeOperand());
+
+            IInstruction indy = find(method, IOpcodes.INVOKEDYNAMIC);
+            InvokeDynamicInfo callSite = indy.getInvokeDynamic();
+            assertNull(indy.getOwner());
+            assertEquals("get", indy.getMemberName());
+            assertEquals("get", callSite.getName());
+            assertEquals("java/lang/invoke/LambdaMetafactory", callSite.getBootstrapMethod().getOwner());
+            assertEquals(3, callSite.getBootstrapArguments().size());
+            assertNull(getField.getInvokeDynamic());
+
+            IInstructionCursor cursor = method.cursor();
+            while (cursor.next()) {
+                if (cursor.getOpcode() == IOpcodes.INVOKESTATIC) {
+                    assertEquals(SymbolTable.VALUE_OF, cursor.getMemberNameId());
+                    assertEquals(symbols.find("java/lang/Integer"), cursor.getOwnerId());
+                    assertEquals(-1, cursor.getTypeId());
+                } else if (cursor.getOpcode() == IOpcodes.NEW) {
+                    assertEquals(symbols.find("java/util/ArrayList"), cursor.getTypeId());
+                    assertEquals(-1, cursor.getMemberNameId());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOperands_convertDynamicConstantBootstrapArguments() throws IOException {
+        Handle constantBootstrap = new Handle(Opcodes.H_INVOKESTATIC, "example/Constants", "make",
+                "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;[Ljava/lang/Object;)Ljava/lang/Object;",
+                false);
+        ConstantDynamic inner = new ConstantDynamic("inner", "J", constantBootstrap, 7L);
+        ConstantDynamic outer = new ConstantDynamic("outer", "Ljava/lang/String;", constantBootstrap,
+                "text", Type.getType("Ljava/util/List;"), inner);
+        byte[] bytes = invokeDynamicSample(outer);
+
+        for (IClassParser backend : List.of(new ASMParser(), new CompactParser())) {
+            InvokeDynamicInfo callSite = invokeDynamicOf(backend, bytes);
+            assertEquals(1, callSite.getBootstrapArguments().size());
+
+            DynamicConstant constant = (DynamicConstant) callSite.getBootstrapArguments().get(0);
+            assertEquals("outer", constant.getName());
+            assertEquals("Ljava/lang/String;", constant.getDescriptor());
+            assertEquals("example/Constants", constant.getBootstrapMethod().getOwner());
+            assertEquals("make", constant.getBootstrapMethod().getName());
+            assertEquals(List.of("text", TypeConstant.of("Ljava/util/List;", TypeConstant.Sort.CLASS),
+                    new DynamicConstant(SymbolTable.global().intern("inner"), SymbolTable.global().intern("J"),
+                            constant.getBootstrapMethod(), List.of(7L))),
+                    constant.getBootstrapArguments());
+        }
+    }
+
+    @Test
+    void testOperands_keepTypeConstantsApartFromStrings() throws IOException {
+        byte[] bytes = invokeDynamicSample("Ljava/lang/String;", Type.getType("Ljava/lang/String;"),
+                Type.getMethodType("(I)V"));
+
+        for (IClassParser backend : List.of(new ASMParser(), new CompactParser())) {
+            List<Object> arguments = invokeDynamicOf(backend, bytes).getBootstrapArguments();
+
+            assertEquals("Ljava/lang/String;", arguments.get(0));
+            TypeConstant classConstant = (TypeConstant) arguments.get(1);
+            assertEquals("Ljava/lang/String;", classConstant.getDescriptor());
+            assertEquals(TypeConstant.Sort.CLASS, classConstant.getSort());
+            assertNotEquals(arguments.get(0), classConstant);
+            assertEquals(TypeConstant.of("(I)V", TypeConstant.Sort.METHOD_TYPE), arguments.get(2));
+        }
+    }
+
+    /**
+     * @return a class whose one method makes an invokedynamic call with
+     *         the bootstrap arguments
+     */
+    private static byte[] invokeDynamicSample(Object... bootstrapArguments) {
+        Handle callBootstrap = new Handle(Opcodes.H_INVOKESTATIC, "example/Sites", "bootstrap",
+                "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;[Ljava/lang/Object;)Ljava/lang/invoke/CallSite;",
+                false);
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, "example/DynamicSample", null, "java/lang/Object", null);
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_STATIC, "run", "()V", null, null);
+        method.visitCode();
+        method.visitInvokeDynamicInsn("site", "()V", callBootstrap, bootstrapArguments);
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static InvokeDynamicInfo invokeDynamicOf(IClassParser backend, byte[] classFile) throws IOException {
+        IMethod run = new Parser(backend).parse(classFile, DataRequirement.defaults()).getMethods().get(0);
+        return find(run, IOpcodes.INVOKEDYNAMIC).getInvokeDynamic();
+    }
+
+    @Test
+    void testSummary_readsFlagsAndCountsFromClassFile() throws IOException {
+        ClassSummary fields = summarize("PublicFieldExample");
+        assertTrue(fields.has(ClassSummary.HAS_PUBLIC_FIELDS | ClassSummary.HAS_CODE));
+        assertFalse(fields.has(ClassSummary.HAS_NON_TRIVIAL_CONSTANTS));
+        assertFalse(fields.has(ClassSummary.HAS_CONDITIONAL_JUMPS));
+        assertEquals(3, fields.getFieldCount());
+        assertEquals(1, fields.getMethodCount());
+        assertEquals(0, fields.getInterfaceCount());
+
+        ClassSummary interfaces = summarize("RedundantExample");
+        assertEquals(2, interfaces.getInterfaceCount());
+        assertFalse(interfaces.has(ClassSummary.HAS_PUBLIC_FIELDS));
+
+        ClassSummary marker = summarize("A");
+        assertTrue(marker.has(ClassSummary.IS_INTERFACE));
+        assertFalse(marker.has(ClassSummary.HAS_CODE));
+        assertEquals(0, marker.getMethodCount());
+
+        ClassSummary params = summarize("TooManyParamsExample");
+        IClass clazz = parser.parse("examples.TooManyParamsExample");
+        int maxParameters = clazz.getMethods().stream().mapToInt(IMethod::getParameterCount).max().orElse(0);
+        assertEquals(maxParameters, params.getMaxParameterCount());
+
+        ClassSummary magic = summarize("MagicNumbersExample");
+        assertTrue(magic.has(ClassSummary.HAS_NON_TRIVIAL_CONSTANTS | ClassSummary.HAS_LOCAL_VARIABLES));
+
+        ClassSummary nested = summarize("NestedIfExample");
+        int jumps = 0;
+        for (IMethod method : parser.parse("examples.NestedIfExample").getMethods()) {
+            for (int opcode : method.getOpcodeArray()) {
+                if ((opcode >= IOpcodes.IFEQ && opcode <= IOpcodes.IF_ACMPNE)
+                        || opcode == IOpcodes.IFNULL || opcode == IOpcodes.IFNONNULL) {
+                    jumps++;
+                }
+            }
+        }
+        assertEquals(jumps, nested.getConditionalJumpCount());
+        assertTrue(nested.has(ClassSummary.HAS_CONDITIONAL_JUMPS));
+    }
+
+    private ClassSummary summarize(String exampleName) throws IOException {
+        try (InputStream in = ParserTest.class.getResourceAsStream("/examples/" + exampleName + ".class")) {
+            return parser.summarize(ByteBuffer.wrap(in.readAllBytes()));
+        }
+    }
+
+    private static void assertSameMethod(IMethod expected, IMethod actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getDescriptor(), actual.getDescriptor());
+        assertEquals(expected.getParameterCount(), actual.getParameterCount());
+        assertEquals(expected.isStatic(), actual.isStatic());
+        assertEquals(expected.getOpcodes(), actual.getOpcodes());
+        assertArrayEquals(expected.getVarIndexArray(), actual.getVarIndexArray());
+        assertArrayEquals(expected.getJumpTargetArray(), actual.getJumpTargetArray());
+
+        ConstantTable expectedConstants = expected.getConstantTable();
+        ConstantTable actualConstants = actual.getConstantTable();
+        assertEquals(expectedConstants.size(), actualConstants.size());
+        for (int e = 0; e < expectedConstants.size(); e++) {
+            assertEquals(expectedConstants.getInstructionIndex(e), actualConstants.getInstructionIndex(e));
+            assertEquals(expectedConstants.getValue(e), actualConstants.getValue(e));
+        }
+
+        List<IInstruction> expectedInsns = expected.getInstructions();
+        List<IInstruction> actualInsns = actual.getInstructions();
+        for (int i = 0; i < expectedInsns.size(); i++) {
+            assertArrayEquals(expected.getSwitchTargets(i), actual.getSwitchTargets(i));
+            assertEquals(expectedInsns.get(i).isPushConstant(), actualInsns.get(i).isPushConstant());
+            assertEquals(expectedInsns.get(i).getConstantValue(), actualInsns.get(i).getConstantValue());
+            assertEquals(expectedInsns.get(i).getVarIndex(), actualInsns.get(i).getVarIndex());
+            assertEquals(expectedInsns.get(i).getJumpLabel() == null, actualInsns.get(i).getJumpLabel() == null);
+            assertEquals(expectedInsns.get(i).getOwner(), actualInsns.get(i).getOwner());
+            assertEquals(expectedInsns.get(i).getMemberName(), actualInsns.get(i).getMemberName());
+            assertEquals(expectedInsns.get(i).getMemberDescriptor(), actualInsns.get(i).getMemberDescriptor());
+            assertEquals(expectedInsns.get(i).getTypeOperand(), actualInsns.get(i).getTypeOperand());
+            assertEquals(expectedInsns.get(i).getInvokeDynamic(), actualInsns.get(i).getInvokeDynamic());
+            int target = actualInsns.get(i).getJumpTargetIndex();
+            if (target >= 0) {
+                assertEquals(actualInsns.get(target).getJumpLabel(), actualInsns.get(i).getJumpLabel());
+            }
+        }
+
+        assertEquals(expected.getLocalVariables().size(), actual.getLocalVariables().size());
+        for (int v = 0; v < expected.getLocalVariables().size(); v++) {
+            assertEquals(expected.getLocalVariables().get(v).getName(), actual.getLocalVariables().get(v).getName());
+            assertEquals(expected.getLocalVariables().get(v).getIndex(), actual.getLocalVariables().get(v).getIndex());
+        }
+
+        IInstructionCursor expectedCursor = expected.cursor();
+        IInstructionCursor actualCursor = actual.cursor();
+        while (expectedCursor.next()) {
+            assertTrue(actualCursor.next());
+            assertEquals(expectedCursor.getOpcode(), actualCursor.getOpcode());
+            assertEquals(expectedCursor.getConstantKind(), actualCursor.getConstantKind());
+            assertEquals(expectedCursor.getLongValue(), actualCursor.getLongValue());
+            assertEquals(expectedCursor.getOwnerId(), actualCursor.getOwnerId());
+            assertEquals(expectedCursor.getMemberNameId(), actualCursor.getMemberNameId());
+            assertEquals(expectedCursor.getMemberDescriptorId(), actualCursor.getMemberDescriptorId());
+            assertEquals(expectedCursor.getTypeId(), actualCursor.getTypeId());
+        }
+        assertFalse(actualCursor.next());
+    }
+
+    private static IInstruction find(IMethod method, int opcode) {
+        return method.getInstructions().stream()
+                .filter(insn -> insn.getOpcode() == opcode)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static IMethod findMethod(IClass clazz, String name) {
+        return clazz.getMethods().stream()
+                .filter(m -> m.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    static class SwitchSample {
+        String describe(int value) {
+            switch (value) {
+                case 1: return "one";
+                case 2: return "two";
+                case 3: return "three";
+                default: return "many";
+            }
+        }
+    }
+
+    static class OperandSample {
+        private int count;
+
+        Object run(Object value) {
+            List<String> names = new ArrayList<>();
+            count = count + 1;
+            Integer boxed = Integer.valueOf(count);
+            if (!(value instanceof Number)) {
+                names.add((String) value);
+            }
+            Supplier<String> supplier = () -> "x" + boxed;
+            return supplier;
+        }
+    }
+}
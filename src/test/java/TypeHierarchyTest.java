@@ -0,0 +1,100 @@
+import BytecodeParser.ASM.ASMParser;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.IClass;
+import BytecodeParser.IClassHeader;
+import BytecodeParser.IClassParser;
+import BytecodeParser.TypeHierarchy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypeHierarchyTest {
+
+    private CountingParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new CountingParser(new ASMParser());
+    }
+
+    @Test
+    void testGetAllInterfaces_includesSuperclassAndSuperinterfaces() throws IOException {
+        TypeHierarchy hierarchy = new TypeHierarchy(parser);
+
+        Set<String> interfaces = hierarchy.getAllInterfaces("java/util/ArrayList");
+
+        assertTrue(interfaces.contains("java/util/List"));
+        assertTrue(interfaces.contains("java/util/Collection"));
+        assertTrue(interfaces.contains("java/lang/Iterable"));
+        assertFalse(interfaces.contains("java/util/ArrayList"));
+        assertThrows(UnsupportedOperationException.class, () -> interfaces.add("x"));
+    }
+
+    @Test
+    void testSupertypes_areReadOncePerType() throws IOException {
+        TypeHierarchy hierarchy = new TypeHierarchy(parser);
+
+        hierarchy.getAllInterfaces("java/util/ArrayList");
+        int reads = parser.headerReads.size();
+        hierarchy.getAllInterfaces("java/util/ArrayList");
+        assertEquals(reads, parser.headerReads.size());
+
+        // LinkedList shares List, Collection, Object, ... with ArrayList
+        hierarchy.getAllInterfaces("java/util/LinkedList");
+        assertEquals(parser.headerReads.size(), parser.headerReads.stream().distinct().count());
+        assertEquals("java/lang/Object", hierarchy.getSuperClassName("java/lang/Number"));
+    }
+
+    @Test
+    void testCache_isBounded() throws IOException {
+        TypeHierarchy hierarchy = new TypeHierarchy(parser, 2);
+
+        hierarchy.getHeader("java/lang/Object");
+        hierarchy.getHeader("java/lang/Number");
+        hierarchy.getHeader("java/lang/Integer");
+        hierarchy.getHeader("java/lang/Object");
+        hierarchy.getHeader("java/lang/Number");
+        hierarchy.getHeader("java/lang/Integer");
+
+        assertTrue(parser.headerReads.size() > 3);
+        assertThrows(IllegalArgumentException.class, () -> new TypeHierarchy(parser, 0));
+    }
+
+    @Test
+    void testMissingType_throws() {
+        TypeHierarchy hierarchy = new TypeHierarchy(parser);
+
+        assertThrows(IOException.class, () -> hierarchy.getAllInterfaces("com/example/DoesNotExist"));
+    }
+
+    private static class CountingParser implements IClassParser {
+        private final IClassParser delegate;
+        private final List<String> headerReads = new ArrayList<>();
+
+        CountingParser(IClassParser delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public IClass parse(String className) throws IOException {
+            return delegate.parse(className);
+        }
+
+        @Override
+        public IClass parse(byte[] classFile, Set<DataRequirement> requirements) throws IOException {
+            return delegate.parse(classFile, requirements);
+        }
+
+        @Override
+        public IClassHeader parseHeader(String className) throws IOException {
+            headerReads.add(className);
+            return delegate.parseHeader(className);
+        }
+    }
+}
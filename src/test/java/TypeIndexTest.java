@@ -0,0 +1,129 @@
+import BytecodeParser.ASM.ASMParser;
+import BytecodeParser.DataRequirement;
+import BytecodeParser.IClass;
+import BytecodeParser.IClassHeader;
+import BytecodeParser.IClassParser;
+import BytecodeParser.TypeHierarchy;
+import BytecodeParser.TypeIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypeIndexTest {
+
+    private final IClassParser parser = new ASMParser();
+
+    @Test
+    void testOpenOrBuild_indexesRuntimeAndLibraries(@TempDir Path tempDir) throws IOException {
+        Path library = writeJar(tempDir.resolve("lib.jar"), "examples/RedundantExample.class");
+        Path indexFile = tempDir.resolve("relint").resolve("type-index.bin");
+
+        TypeIndex index = TypeIndex.openOrBuild(indexFile, List.of(library), parser);
+
+        IClassHeader list = index.find("java/util/ArrayList");
+        assertNotNull(list);
+        assertEquals("java/util/AbstractList", list.getSuperClassName());
+        assertTrue(list.getDirectInterfaces().contains("java/util/List"));
+        assertNull(index.find("java/lang/Object").getSuperClassName());
+
+        IClassHeader fromLibrary = index.find("examples/RedundantExample");
+        assertNotNull(fromLibrary);
+        assertEquals(parser.parseHeader("examples/RedundantExample").getDirectInterfaces(),
+                fromLibrary.getDirectInterfaces());
+
+        assertNull(index.find("com/example/DoesNotExist"));
+    }
+
+    @Test
+    void testOpenOrBuild_rebuildsOnlyWhenInputsChange(@TempDir Path tempDir) throws IOException {
+        Path library = writeJar(tempDir.resolve("lib.jar"), "examples/RedundantExample.class");
+        Path indexFile = tempDir.resolve("type-index.bin");
+
+        TypeIndex first = TypeIndex.openOrBuild(indexFile, List.of(library), parser);
+        FileTime built = Files.getLastModifiedTime(indexFile);
+        Files.setLastModifiedTime(indexFile, FileTime.fromMillis(built.toMillis() - 10_000));
+        FileTime marked = Files.getLastModifiedTime(indexFile);
+
+        TypeIndex reused = TypeIndex.openOrBuild(indexFile, List.of(library), parser);
+        assertEquals(marked, Files.getLastModifiedTime(indexFile));
+        assertEquals(first.getFingerprint(), reused.getFingerprint());
+        assertNull(reused.find("examples/PublicFieldExample"));
+
+        writeJar(library, "examples/RedundantExample.class", "examples/PublicFieldExample.class");
+        Files.setLastModifiedTime(library, FileTime.fromMillis(built.toMillis() + 10_000));
+
+        TypeIndex rebuilt = TypeIndex.openOrBuild(indexFile, List.of(library), parser);
+        assertNotEquals(first.getFingerprint(), rebuilt.getFingerprint());
+        assertNotNull(rebuilt.find("examples/PublicFieldExample"));
+    }
+
+    @Test
+    void testOpenOrBuild_rebuildsWhenClassInDirectoryLibraryChanges(@TempDir Path tempDir) throws IOException {
+        Path library = tempDir.resolve("classes");
+        Path classFile = library.resolve("examples").resolve("RedundantExample.class");
+        Files.createDirectories(classFile.getParent());
+        copyResource("examples/RedundantExample.class", classFile);
+        FileTime directoryTime = Files.getLastModifiedTime(library);
+        Path indexFile = tempDir.resolve("type-index.bin");
+
+        TypeIndex first = TypeIndex.openOrBuild(indexFile, List.of(library), parser);
+        assertNull(first.find("examples/PublicFieldExample"));
+
+        copyResource("examples/PublicFieldExample.class", classFile.resolveSibling("PublicFieldExample.class"));
+        Files.setLastModifiedTime(library, directoryTime);
+
+        TypeIndex rebuilt = TypeIndex.openOrBuild(indexFile, List.of(library), parser);
+        assertNotEquals(first.getFingerprint(), rebuilt.getFingerprint());
+        assertNotNull(rebuilt.find("examples/PublicFieldExample"));
+    }
+
+    @Test
+    void testTypeHierarchy_consultsIndexBeforeParsing(@TempDir Path tempDir) throws IOException {
+        TypeIndex index = TypeIndex.openOrBuild(tempDir.resolve("type-index.bin"), List.of(), parser);
+        IClassParser failingParser = new IClassParser() {
+            @Override
+            public IClass parse(String className) throws IOException {
+                throw new IOException("should not parse " + className);
+            }
+
+            @Override
+            public IClass parse(byte[] classFile, Set<DataRequirement> requirements) throws IOException {
+                throw new IOException("should not parse bytes");
+            }
+        };
+
+        TypeHierarchy hierarchy = new TypeHierarchy(failingParser, index);
+
+        assertTrue(hierarchy.getAllInterfaces("java/util/ArrayList").contains("java/util/Collection"));
+    }
+
+    private static Path writeJar(Path jar, String... entries) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            for (String name : entries) {
+                out.putNextEntry(new ZipEntry(name));
+                try (InputStream in = TypeIndexTest.class.getResourceAsStream("/" + name)) {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static void copyResource(String name, Path target) throws IOException {
+        try (InputStream in = TypeIndexTest.class.getResourceAsStream("/" + name)) {
+            Files.copy(in, target);
+        }
+    }
+}